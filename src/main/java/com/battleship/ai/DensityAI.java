@@ -0,0 +1,309 @@
+package com.battleship.ai;
+
+import com.battleship.model.BoardMasks;
+import com.battleship.model.CellState;
+import com.battleship.model.GameRandom;
+import com.battleship.model.ShipType;
+
+import java.util.Arrays;
+
+/**
+ * Probability-density AI.
+ * <p>
+ * For every cell it keeps how many legal placements of the ships still afloat cover
+ * that cell, where a placement is legal if it avoids every miss and every sunk cell.
+ * The counts are updated incrementally: a miss only revisits the placements through
+ * that cell, and a sinking subtracts the placements of the sunk type once. While there
+ * are hits that do not belong to a sunk ship, only placements through those hits are
+ * scored, weighted by how many of them they explain. Each decision is a single pass
+ * over the board.
+ * </p>
+ */
+public class DensityAI implements ShotStrategy {
+
+    private static final int CELLS = BoardMasks.CELL_COUNT;
+    private static final ShipType[] TYPES = ShipType.values();
+
+    // Extra weight per unresolved hit covered by a placement in target mode
+    private static final int HIT_WEIGHT = 16;
+
+    private OpponentView target;
+    private GameRandom random;
+
+    // Knowledge of the opponent board
+    private long shotLo, shotHi;
+    private long blockedLo, blockedHi;     // Misses and sunk cells
+    private long openHitLo, openHitHi;     // Hits not yet attributed to a sunk ship
+    private final int[] remaining = new int[TYPES.length];
+
+    // Weighted count of legal placements covering each cell
+    private final int[] density = new int[CELLS];
+    private final int[] targetScore = new int[CELLS];
+    private final long[] scratch = new long[2];
+
+    @Override
+    public String getId() {
+        return "density";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Normal";
+    }
+
+    @Override
+    public void newGame(OpponentView opponent, GameRandom random) {
+        this.target = opponent;
+        this.random = random;
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the knowledge and the density map from the current view, which already
+     * holds shots when the game was restored from disk.
+     */
+    private void rebuild() {
+        shotLo = shotHi = blockedLo = blockedHi = openHitLo = openHitHi = 0L;
+        for (ShipType type : TYPES) {
+            remaining[type.ordinal()] = type.getQuantity() - target.getSunkCount(type);
+        }
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            CellState state = target.getKnownState(BoardMasks.row(cell), BoardMasks.col(cell));
+            long lo = BoardMasks.bitLo(cell);
+            long hi = BoardMasks.bitHi(cell);
+            if (state == CellState.WATER || state == CellState.SUNK) {
+                blockedLo |= lo;
+                blockedHi |= hi;
+            } else if (state == CellState.HIT) {
+                openHitLo |= lo;
+                openHitHi |= hi;
+            }
+            if (state == CellState.WATER || state == CellState.HIT || state == CellState.SUNK) {
+                shotLo |= lo;
+                shotHi |= hi;
+            }
+        }
+
+        Arrays.fill(density, 0);
+        for (ShipType type : TYPES) {
+            int count = remaining[type.ordinal()];
+            if (count > 0) {
+                addAllPlacements(type.getSize(), count);
+            }
+        }
+    }
+
+    @Override
+    public int nextShot() {
+        if ((openHitLo | openHitHi) != 0) {
+            int cell = bestTargetCell();
+            if (cell >= 0) {
+                return cell;
+            }
+        }
+        return bestCell(density);
+    }
+
+    @Override
+    public void onShotResult(int row, int col, CellState result) {
+        int cell = BoardMasks.index(row, col);
+        shotLo |= BoardMasks.bitLo(cell);
+        shotHi |= BoardMasks.bitHi(cell);
+
+        switch (result) {
+            case WATER:
+                block(cell);
+                break;
+            case HIT:
+                openHitLo |= BoardMasks.bitLo(cell);
+                openHitHi |= BoardMasks.bitHi(cell);
+                break;
+            case SUNK:
+                blockSunkCells(cell);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * The sunk type leaves the fleet, together with every placement it still had.
+     */
+    @Override
+    public void onShipSunk(ShipType type) {
+        if (remaining[type.ordinal()] > 0) {
+            remaining[type.ordinal()]--;
+            addAllPlacements(type.getSize(), -1);
+        }
+    }
+
+    /**
+     * The sunk ship is made of this cell plus the open hits now shown as SUNK.
+     * Those cells stop being open hits and become blocked.
+     */
+    private void blockSunkCells(int cell) {
+        long sunkLo = BoardMasks.bitLo(cell);
+        long sunkHi = BoardMasks.bitHi(cell);
+        long lo = openHitLo;
+        long hi = openHitHi;
+        while ((lo | hi) != 0) {
+            int hit = lo != 0 ? Long.numberOfTrailingZeros(lo) : 64 + Long.numberOfTrailingZeros(hi);
+            if (lo != 0) lo &= lo - 1; else hi &= hi - 1;
+            if (target.getKnownState(BoardMasks.row(hit), BoardMasks.col(hit)) == CellState.SUNK) {
+                sunkLo |= BoardMasks.bitLo(hit);
+                sunkHi |= BoardMasks.bitHi(hit);
+            }
+        }
+        openHitLo &= ~sunkLo;
+        openHitHi &= ~sunkHi;
+
+        while ((sunkLo | sunkHi) != 0) {
+            int sunk = sunkLo != 0 ? Long.numberOfTrailingZeros(sunkLo) : 64 + Long.numberOfTrailingZeros(sunkHi);
+            if (sunkLo != 0) sunkLo &= sunkLo - 1; else sunkHi &= sunkHi - 1;
+            block(sunk);
+        }
+    }
+
+    /**
+     * Marks a cell as blocked and removes every placement through it that was legal.
+     */
+    private void block(int cell) {
+        if (BoardMasks.test(blockedLo, blockedHi, cell)) {
+            return;
+        }
+        int row = BoardMasks.row(cell);
+        int col = BoardMasks.col(cell);
+
+        for (ShipType type : TYPES) {
+            int count = remaining[type.ordinal()];
+            if (count == 0) continue;
+            int size = type.getSize();
+
+            for (int orientation = 0; orientation < (size > 1 ? 2 : 1); orientation++) {
+                boolean horizontal = orientation == 0;
+                for (int offset = 0; offset < size; offset++) {
+                    int anchorRow = horizontal ? row : row - offset;
+                    int anchorCol = horizontal ? col - offset : col;
+                    if (!BoardMasks.fits(size, horizontal, anchorRow, anchorCol)) continue;
+
+                    int anchor = BoardMasks.index(anchorRow, anchorCol);
+                    long spanLo = BoardMasks.spanLo(size, horizontal, anchor);
+                    long spanHi = BoardMasks.spanHi(size, horizontal, anchor);
+                    if ((spanLo & blockedLo) == 0 && (spanHi & blockedHi) == 0) {
+                        addSpan(spanLo, spanHi, -count);
+                    }
+                }
+            }
+        }
+
+        blockedLo |= BoardMasks.bitLo(cell);
+        blockedHi |= BoardMasks.bitHi(cell);
+    }
+
+    /**
+     * Adds {@code weight} to every cell of every legal placement of the given size.
+     */
+    private void addAllPlacements(int size, int weight) {
+        for (int orientation = 0; orientation < (size > 1 ? 2 : 1); orientation++) {
+            boolean horizontal = orientation == 0;
+            BoardMasks.legalAnchors(size, horizontal, blockedLo, blockedHi, scratch);
+            long lo = scratch[0];
+            long hi = scratch[1];
+            while ((lo | hi) != 0) {
+                int anchor = lo != 0 ? Long.numberOfTrailingZeros(lo) : 64 + Long.numberOfTrailingZeros(hi);
+                if (lo != 0) lo &= lo - 1; else hi &= hi - 1;
+                addSpan(BoardMasks.spanLo(size, horizontal, anchor), BoardMasks.spanHi(size, horizontal, anchor), weight);
+            }
+        }
+    }
+
+    private void addSpan(long lo, long hi, int weight) {
+        while (lo != 0) {
+            density[Long.numberOfTrailingZeros(lo)] += weight;
+            lo &= lo - 1;
+        }
+        while (hi != 0) {
+            density[64 + Long.numberOfTrailingZeros(hi)] += weight;
+            hi &= hi - 1;
+        }
+    }
+
+    /**
+     * Target mode: scores unshot cells by the legal placements that pass through at
+     * least one open hit, favouring placements that explain more hits.
+     *
+     * @return Best cell, or -1 if no legal placement explains the open hits.
+     */
+    private int bestTargetCell() {
+        Arrays.fill(targetScore, 0);
+        boolean any = false;
+
+        long lo = openHitLo;
+        long hi = openHitHi;
+        while ((lo | hi) != 0) {
+            int hit = lo != 0 ? Long.numberOfTrailingZeros(lo) : 64 + Long.numberOfTrailingZeros(hi);
+            if (lo != 0) lo &= lo - 1; else hi &= hi - 1;
+            int row = BoardMasks.row(hit);
+            int col = BoardMasks.col(hit);
+
+            for (ShipType type : TYPES) {
+                int count = remaining[type.ordinal()];
+                if (count == 0) continue;
+                int size = type.getSize();
+
+                for (int orientation = 0; orientation < (size > 1 ? 2 : 1); orientation++) {
+                    boolean horizontal = orientation == 0;
+                    for (int offset = 0; offset < size; offset++) {
+                        int anchorRow = horizontal ? row : row - offset;
+                        int anchorCol = horizontal ? col - offset : col;
+                        if (!BoardMasks.fits(size, horizontal, anchorRow, anchorCol)) continue;
+
+                        int anchor = BoardMasks.index(anchorRow, anchorCol);
+                        long spanLo = BoardMasks.spanLo(size, horizontal, anchor);
+                        long spanHi = BoardMasks.spanHi(size, horizontal, anchor);
+                        if ((spanLo & blockedLo) != 0 || (spanHi & blockedHi) != 0) continue;
+
+                        int covered = BoardMasks.bitCount(spanLo & openHitLo, spanHi & openHitHi);
+                        int weight = count * (1 + HIT_WEIGHT * covered * covered);
+                        long openLo = spanLo & ~shotLo;
+                        long openHi = spanHi & ~shotHi;
+                        while (openLo != 0) {
+                            targetScore[Long.numberOfTrailingZeros(openLo)] += weight;
+                            openLo &= openLo - 1;
+                            any = true;
+                        }
+                        while (openHi != 0) {
+                            targetScore[64 + Long.numberOfTrailingZeros(openHi)] += weight;
+                            openHi &= openHi - 1;
+                            any = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        return any ? bestCell(targetScore) : -1;
+    }
+
+    /**
+     * Highest-scoring unshot cell; ties are broken uniformly at random.
+     */
+    private int bestCell(int[] scores) {
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (BoardMasks.test(shotLo, shotHi, cell)) continue;
+            int score = scores[cell];
+            if (score > bestScore) {
+                best = cell;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+}
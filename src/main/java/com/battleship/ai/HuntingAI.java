@@ -0,0 +1,86 @@
+package com.battleship.ai;
+
+import com.battleship.model.BoardMasks;
+import com.battleship.model.CellState;
+import com.battleship.model.GameRandom;
+
+/**
+ * Original "hunt" AI of the game.
+ * <p>
+ * Fires at random until it scores a hit, then probes the four neighbours of the
+ * last hit. When every neighbour has been shot it falls back to random fire.
+ * </p>
+ */
+public class HuntingAI implements ShotStrategy {
+
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    private OpponentView target;
+    private GameRandom random;
+
+    private boolean hunting = false;
+    private int lastHitRow = -1;
+    private int lastHitCol = -1;
+
+    @Override
+    public String getId() {
+        return "hunt";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Fácil";
+    }
+
+    @Override
+    public void newGame(OpponentView opponent, GameRandom random) {
+        this.target = opponent;
+        this.random = random;
+        hunting = false;
+        lastHitRow = -1;
+        lastHitCol = -1;
+    }
+
+    @Override
+    public int nextShot() {
+        if (hunting) {
+            // Try shooting around the last hit
+            for (int[] d : DIRECTIONS) {
+                int r = lastHitRow + d[0];
+                int c = lastHitCol + d[1];
+
+                if (BoardMasks.inBounds(r, c) && !alreadyShot(r, c)) {
+                    return BoardMasks.index(r, c);
+                }
+            }
+
+            // If no valid shots around, go back to random
+            hunting = false;
+        }
+
+        int row, col;
+        do {
+            row = random.nextInt(BoardMasks.SIZE);
+            col = random.nextInt(BoardMasks.SIZE);
+        } while (alreadyShot(row, col));
+
+        return BoardMasks.index(row, col);
+    }
+
+    @Override
+    public void onShotResult(int row, int col, CellState result) {
+        if (result == CellState.HIT) {
+            hunting = true;
+            lastHitRow = row;
+            lastHitCol = col;
+        } else if (result == CellState.SUNK) {
+            hunting = false;
+            lastHitRow = -1;
+            lastHitCol = -1;
+        }
+    }
+
+    private boolean alreadyShot(int row, int col) {
+        return target.getKnownState(row, col) != CellState.EMPTY;
+    }
+}
@@ -0,0 +1,374 @@
+package com.battleship.ai;
+
+import com.battleship.model.BoardMasks;
+import com.battleship.model.CellState;
+import com.battleship.model.GameRandom;
+import com.battleship.model.ShipType;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Monte Carlo layout-sampling AI.
+ * <p>
+ * Each move it samples full layouts of the ships still afloat that are consistent
+ * with the shot history: no ship over a miss or a sunk cell, and every open hit
+ * covered by some ship. It then fires at the unshot cell that is occupied in most
+ * samples. Sampling is split across a fork-join pool; each worker thread reuses its
+ * own scratch arrays and random stream, and all workers stop at the per-move time
+ * budget or the sample cap, whichever comes first. When no consistent layout is found
+ * in time it falls back to {@link DensityAI}.
+ * </p>
+ * <p>
+ * It is not offered as a difficulty: in self-play it sinks a fleet in as many shots as
+ * {@link DensityAI} (about 84 on average, with 2,000 or 20,000 samples per move), since
+ * the four single-cell frigates leave the end of every game to plain search. It stays
+ * available to {@link com.battleship.engine.TournamentRunner} and to older saves.
+ * </p>
+ */
+public class MonteCarloAI implements ShotStrategy {
+
+    private static final int CELLS = BoardMasks.CELL_COUNT;
+
+    // Defaults for interactive play: think within the time the enemy turn is shown
+    private static final long DEFAULT_BUDGET_NANOS = 600_000_000L;
+    private static final int DEFAULT_MAX_SAMPLES = 200_000;
+
+    // Per-thread scratch space, reused across moves and games
+    private static final ThreadLocal<Sampler> SAMPLERS = ThreadLocal.withInitial(Sampler::new);
+
+    private final long budgetNanos;
+    private final int maxSamples;
+    private final ForkJoinPool pool;
+    private final DensityAI fallback = new DensityAI();
+
+    private OpponentView target;
+    private GameRandom random;
+    private int moves = 0;
+
+    /**
+     * Interactive configuration: a 600 ms budget on the common fork-join pool.
+     */
+    public MonteCarloAI() {
+        this(DEFAULT_BUDGET_NANOS, DEFAULT_MAX_SAMPLES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param budgetNanos Thinking time per move, or 0 for no time limit.
+     * @param maxSamples  Maximum layouts sampled per move.
+     * @param pool        Pool to sample on, or null to sample on the calling thread.
+     */
+    public MonteCarloAI(long budgetNanos, int maxSamples, ForkJoinPool pool) {
+        this.budgetNanos = budgetNanos;
+        this.maxSamples = maxSamples;
+        this.pool = pool;
+    }
+
+    @Override
+    public String getId() {
+        return "montecarlo";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Monte Carlo";
+    }
+
+    @Override
+    public boolean isOffered() {
+        return false;
+    }
+
+    @Override
+    public void newGame(OpponentView opponent, GameRandom random) {
+        this.target = opponent;
+        this.random = random;
+        this.moves = 0;
+        fallback.newGame(opponent, random.fork(-1));
+    }
+
+    @Override
+    public int nextShot() {
+        long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        Knowledge knowledge = readKnowledge();
+        AtomicIntegerArray frequency = new AtomicIntegerArray(CELLS);
+
+        int tasks = pool == null ? 1 : pool.getParallelism();
+        SampleTask[] work = new SampleTask[tasks];
+        for (int i = 0; i < tasks; i++) {
+            int quota = maxSamples / tasks + (i < maxSamples % tasks ? 1 : 0);
+            long seed = random.fork((long) moves * tasks + i).getSeed();
+            work[i] = new SampleTask(knowledge, frequency, quota, deadline, seed);
+        }
+        moves++;
+
+        if (pool == null) {
+            work[0].compute();
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(work);
+                }
+            });
+        }
+
+        int best = -1;
+        int bestCount = 0;
+        int ties = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (BoardMasks.test(knowledge.shotLo, knowledge.shotHi, cell)) continue;
+            int count = frequency.get(cell);
+            if (count > bestCount) {
+                best = cell;
+                bestCount = count;
+                ties = 1;
+            } else if (count == bestCount && count > 0 && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best >= 0 ? best : fallback.nextShot();
+    }
+
+    @Override
+    public void onShotResult(int row, int col, CellState result) {
+        fallback.onShotResult(row, col, result);
+    }
+
+    @Override
+    public void onShipSunk(ShipType type) {
+        fallback.onShipSunk(type);
+    }
+
+    /**
+     * Snapshot of what the shooter knows: shots, blocked cells, open hits and the
+     * sizes of the ships still afloat.
+     */
+    private Knowledge readKnowledge() {
+        Knowledge knowledge = new Knowledge();
+        for (int cell = 0; cell < CELLS; cell++) {
+            CellState state = target.getKnownState(BoardMasks.row(cell), BoardMasks.col(cell));
+            long lo = BoardMasks.bitLo(cell);
+            long hi = BoardMasks.bitHi(cell);
+            switch (state) {
+                case WATER:
+                case SUNK:
+                    knowledge.blockedLo |= lo;
+                    knowledge.blockedHi |= hi;
+                    knowledge.shotLo |= lo;
+                    knowledge.shotHi |= hi;
+                    break;
+                case HIT:
+                    knowledge.hitLo |= lo;
+                    knowledge.hitHi |= hi;
+                    knowledge.shotLo |= lo;
+                    knowledge.shotHi |= hi;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        int[] afloat = new int[ShipType.values().length];
+        for (ShipType type : ShipType.values()) {
+            afloat[type.ordinal()] = type.getQuantity() - target.getSunkCount(type);
+        }
+
+        int count = 0;
+        for (int n : afloat) count += Math.max(n, 0);
+        knowledge.sizes = new int[count];
+        int i = 0;
+        for (ShipType type : ShipType.values()) {
+            for (int n = 0; n < afloat[type.ordinal()]; n++) {
+                knowledge.sizes[i++] = type.getSize();
+            }
+        }
+        return knowledge;
+    }
+
+    private static final class Knowledge {
+        long shotLo, shotHi;
+        long blockedLo, blockedHi;
+        long hitLo, hitHi;
+        int[] sizes;
+    }
+
+    /**
+     * Samples on one worker and merges its hit frequencies once at the end.
+     */
+    private static final class SampleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Knowledge knowledge;
+        private final AtomicIntegerArray frequency;
+        private final int quota;
+        private final long deadline;
+        private final long seed;
+
+        SampleTask(Knowledge knowledge, AtomicIntegerArray frequency, int quota, long deadline, long seed) {
+            this.knowledge = knowledge;
+            this.frequency = frequency;
+            this.quota = quota;
+            this.deadline = deadline;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            Sampler sampler = SAMPLERS.get();
+            sampler.reset(seed);
+
+            for (int n = 0; n < quota; n++) {
+                // Checking the clock every few samples keeps its cost out of the loop
+                if ((n & 15) == 0 && System.nanoTime() > deadline) break;
+                sampler.sample(knowledge);
+            }
+
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (sampler.counts[cell] != 0) frequency.addAndGet(cell, sampler.counts[cell]);
+            }
+        }
+    }
+
+    /**
+     * Scratch state of one worker thread.
+     */
+    private static final class Sampler {
+        final int[] counts = new int[CELLS];
+        final boolean[] used = new boolean[ShipType.getTotalShips()];
+        final long[] placedLo = new long[ShipType.getTotalShips()];
+        final long[] placedHi = new long[ShipType.getTotalShips()];
+        final long[] scratch = new long[2];
+        GameRandom random;
+
+        void reset(long seed) {
+            Arrays.fill(counts, 0);
+            random = new GameRandom(seed);
+        }
+
+        /**
+         * Builds one layout: first a ship through every open hit, then the rest
+         * uniformly among their legal placements. Inconsistent attempts are discarded.
+         */
+        void sample(Knowledge knowledge) {
+            int[] sizes = knowledge.sizes;
+            int ships = sizes.length;
+            for (int i = 0; i < ships; i++) used[i] = false;
+
+            long occupiedLo = knowledge.blockedLo;
+            long occupiedHi = knowledge.blockedHi;
+            long uncoveredLo = knowledge.hitLo;
+            long uncoveredHi = knowledge.hitHi;
+            int placed = 0;
+
+            // 1) Explain every open hit with some ship passing through it
+            while ((uncoveredLo | uncoveredHi) != 0) {
+                int hit = uncoveredLo != 0
+                        ? Long.numberOfTrailingZeros(uncoveredLo)
+                        : 64 + Long.numberOfTrailingZeros(uncoveredHi);
+                if (!placeThrough(hit, sizes, occupiedLo, occupiedHi, placed)) return;
+
+                occupiedLo |= placedLo[placed];
+                occupiedHi |= placedHi[placed];
+                uncoveredLo &= ~placedLo[placed];
+                uncoveredHi &= ~placedHi[placed];
+                placed++;
+            }
+
+            // 2) Place the remaining ships anywhere legal
+            for (int i = 0; i < ships; i++) {
+                if (used[i]) continue;
+                int size = sizes[i];
+
+                BoardMasks.legalAnchors(size, true, occupiedLo, occupiedHi, scratch);
+                long hLo = scratch[0], hHi = scratch[1];
+                long vLo = 0L, vHi = 0L;
+                if (size > 1) {
+                    BoardMasks.legalAnchors(size, false, occupiedLo, occupiedHi, scratch);
+                    vLo = scratch[0];
+                    vHi = scratch[1];
+                }
+                int hCount = BoardMasks.bitCount(hLo, hHi);
+                int total = hCount + BoardMasks.bitCount(vLo, vHi);
+                if (total == 0) return;
+
+                int pick = random.nextInt(total);
+                boolean horizontal = pick < hCount;
+                int anchor = horizontal
+                        ? BoardMasks.selectBit(hLo, hHi, pick)
+                        : BoardMasks.selectBit(vLo, vHi, pick - hCount);
+
+                used[i] = true;
+                placedLo[placed] = BoardMasks.spanLo(size, horizontal, anchor);
+                placedHi[placed] = BoardMasks.spanHi(size, horizontal, anchor);
+                occupiedLo |= placedLo[placed];
+                occupiedHi |= placedHi[placed];
+                placed++;
+            }
+
+            // Accepted: count the unshot cells of the layout
+            long lo = occupiedLo & ~knowledge.shotLo;
+            long hi = occupiedHi & ~knowledge.shotHi;
+            while (lo != 0) {
+                counts[Long.numberOfTrailingZeros(lo)]++;
+                lo &= lo - 1;
+            }
+            while (hi != 0) {
+                counts[64 + Long.numberOfTrailingZeros(hi)]++;
+                hi &= hi - 1;
+            }
+        }
+
+        /**
+         * Chooses uniformly among the legal placements of unused ships that cover the
+         * given hit, storing it in slot {@code placed}.
+         */
+        private boolean placeThrough(int hit, int[] sizes, long occupiedLo, long occupiedHi, int placed) {
+            int row = BoardMasks.row(hit);
+            int col = BoardMasks.col(hit);
+            // The hit cell itself is free for the ship that explains it
+            long freeLo = occupiedLo & ~BoardMasks.bitLo(hit);
+            long freeHi = occupiedHi & ~BoardMasks.bitHi(hit);
+
+            int chosenShip = -1;
+            long chosenLo = 0L, chosenHi = 0L;
+            int seen = 0;
+            int lastSize = -1;
+            for (int i = 0; i < sizes.length; i++) {
+                // Ships of the same size have the same placements; try each size once
+                if (used[i] || sizes[i] == lastSize) continue;
+                int size = sizes[i];
+                lastSize = size;
+
+                for (int orientation = 0; orientation < (size > 1 ? 2 : 1); orientation++) {
+                    boolean horizontal = orientation == 0;
+                    for (int offset = 0; offset < size; offset++) {
+                        int anchorRow = horizontal ? row : row - offset;
+                        int anchorCol = horizontal ? col - offset : col;
+                        if (!BoardMasks.fits(size, horizontal, anchorRow, anchorCol)) continue;
+
+                        int anchor = BoardMasks.index(anchorRow, anchorCol);
+                        long spanLo = BoardMasks.spanLo(size, horizontal, anchor);
+                        long spanHi = BoardMasks.spanHi(size, horizontal, anchor);
+                        if ((spanLo & freeLo) != 0 || (spanHi & freeHi) != 0) continue;
+
+                        // Reservoir sampling keeps the choice uniform without a candidate list
+                        if (random.nextInt(++seen) == 0) {
+                            chosenShip = i;
+                            chosenLo = spanLo;
+                            chosenHi = spanHi;
+                        }
+                    }
+                }
+            }
+
+            if (chosenShip < 0) return false;
+            used[chosenShip] = true;
+            placedLo[placed] = chosenLo;
+            placedHi[placed] = chosenHi;
+            return true;
+        }
+    }
+}
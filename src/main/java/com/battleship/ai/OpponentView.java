@@ -0,0 +1,48 @@
+package com.battleship.ai;
+
+import com.battleship.model.Board;
+import com.battleship.model.CellState;
+import com.battleship.model.ShipType;
+
+/**
+ * What a shooter is allowed to know about the opponent board: the outcome of its
+ * own shots and which ships have been sunk. Cells that have not been shot are
+ * always reported as {@link CellState#EMPTY}, whether or not a ship is there.
+ */
+public interface OpponentView {
+
+    int getSize();
+
+    /**
+     * @return WATER, HIT or SUNK for shot cells, EMPTY otherwise.
+     */
+    CellState getKnownState(int row, int col);
+
+    /**
+     * @return How many ships of the given type have been sunk so far.
+     */
+    int getSunkCount(ShipType type);
+
+    /**
+     * Wraps a board so that its unshot ships stay hidden.
+     */
+    static OpponentView of(Board board) {
+        return new OpponentView() {
+            @Override
+            public int getSize() {
+                return board.getSize();
+            }
+
+            @Override
+            public CellState getKnownState(int row, int col) {
+                CellState state = board.getCellState(row, col);
+                return state == CellState.SHIP ? CellState.EMPTY : state;
+            }
+
+            @Override
+            public int getSunkCount(ShipType type) {
+                return board.getSunkCount(type);
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.battleship.ai;
+
+import com.battleship.model.CellState;
+import com.battleship.model.GameRandom;
+import com.battleship.model.ShipType;
+
+/**
+ * Decides where an automated player fires next.
+ * <p>
+ * Strategies are service providers: they are discovered with
+ * {@link java.util.ServiceLoader} (see {@link StrategyRegistry}), so they must have a
+ * public no-argument constructor and receive everything else in {@link #newGame}.
+ * A strategy only sees the opponent board through an {@link OpponentView}.
+ * </p>
+ * <p>
+ * Cells are exchanged as packed indices ({@code row * 10 + col}, see
+ * {@link com.battleship.model.BoardMasks}) so a strategy can be driven in bulk
+ * self-play without allocating a coordinate object per shot.
+ * </p>
+ */
+public interface ShotStrategy {
+
+    /**
+     * @return Stable identifier used to select the strategy and to store it in saves.
+     */
+    String getId();
+
+    /**
+     * @return Difficulty name shown to the player.
+     */
+    String getDisplayName();
+
+    /**
+     * @return Whether the player can pick this strategy as a difficulty. Strategies kept
+     * only for tournaments and analysis return false; saves that use them still load.
+     */
+    default boolean isOffered() {
+        return true;
+    }
+
+    /**
+     * Starts a game, or resumes a restored one: the view may already contain shots.
+     *
+     * @param opponent Knowledge-only view of the board this strategy fires at.
+     * @param random   Seeded randomness source of the game.
+     */
+    void newGame(OpponentView opponent, GameRandom random);
+
+    /**
+     * Chooses the next cell to fire at. Must return a cell that has not been shot yet.
+     *
+     * @return Packed index of the target cell.
+     */
+    int nextShot();
+
+    /**
+     * Informs the strategy of the outcome of the shot it just fired.
+     *
+     * @param row    Row of the shot.
+     * @param col    Column of the shot.
+     * @param result Result reported by the opponent board (WATER, HIT or SUNK).
+     */
+    void onShotResult(int row, int col, CellState result);
+
+    /**
+     * Called right after a SUNK result with the type of the ship that went down.
+     */
+    default void onShipSunk(ShipType type) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.battleship.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Catalogue of the {@link ShotStrategy} providers visible to this module.
+ * <p>
+ * Providers are looked up once with {@link ServiceLoader}; each call to
+ * {@link #create(String)} instantiates a fresh strategy, since strategies keep
+ * per-game state. Ids keep the order in which the providers were declared.
+ * </p>
+ */
+public final class StrategyRegistry {
+
+    /** Strategy used when none was chosen, e.g. for saves older than the choice. */
+    public static final String DEFAULT_ID = "density";
+
+    private static final Map<String, ServiceLoader.Provider<ShotStrategy>> PROVIDERS = new LinkedHashMap<>();
+    private static final Map<String, String> DISPLAY_NAMES = new LinkedHashMap<>();
+    private static final List<String> OFFERED = new ArrayList<>();
+
+    static {
+        ServiceLoader.load(ShotStrategy.class).stream().forEach(provider -> {
+            ShotStrategy strategy = provider.get();
+            if (PROVIDERS.putIfAbsent(strategy.getId(), provider) == null) {
+                DISPLAY_NAMES.put(strategy.getId(), strategy.getDisplayName());
+                if (strategy.isOffered()) {
+                    OFFERED.add(strategy.getId());
+                }
+            }
+        });
+    }
+
+    private StrategyRegistry() {
+    }
+
+    /**
+     * @return Ids of every available strategy.
+     */
+    public static List<String> getIds() {
+        return Collections.unmodifiableList(new ArrayList<>(PROVIDERS.keySet()));
+    }
+
+    /**
+     * @return Ids of the strategies the player can pick as a difficulty.
+     */
+    public static List<String> getOfferedIds() {
+        return Collections.unmodifiableList(OFFERED);
+    }
+
+    /**
+     * @return Difficulty name of the strategy, or the id itself if it is unknown.
+     */
+    public static String getDisplayName(String id) {
+        return DISPLAY_NAMES.getOrDefault(id, id);
+    }
+
+    public static boolean contains(String id) {
+        return PROVIDERS.containsKey(id);
+    }
+
+    /**
+     * Creates a new instance of the given strategy.
+     *
+     * @throws IllegalArgumentException If no provider has that id.
+     */
+    public static ShotStrategy create(String id) {
+        ServiceLoader.Provider<ShotStrategy> provider = PROVIDERS.get(id);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown AI: " + id);
+        }
+        return provider.get();
+    }
+}
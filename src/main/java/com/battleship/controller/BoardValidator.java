@@ -1,11 +1,6 @@
 package com.battleship.controller;
 
 import com.battleship.model.Board;
-import com.battleship.model.Ship;
-import com.battleship.model.ShipType;
-
-import java.util.HashMap;
-import java.util.Map;
 
 
 public class BoardValidator {
@@ -17,27 +12,7 @@ public class BoardValidator {
 
 
     public static boolean hasAllShips(Board board) {
-        Map<ShipType, Integer> shipCounts = new HashMap<>();
-
-
-        for (ShipType type : ShipType.values()) {
-            shipCounts.put(type, 0);
-        }
-
-
-        for (Ship ship : board.getShips()) {
-            ShipType type = ship.getType();
-            shipCounts.put(type, shipCounts.get(type) + 1);
-        }
-
-
-        for (ShipType type : ShipType.values()) {
-            if (shipCounts.get(type) != type.getQuantity()) {
-                return false;
-            }
-        }
-
-        return true;
+        return board.allShipsPlaced();
     }
 
 
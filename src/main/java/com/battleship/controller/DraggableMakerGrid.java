@@ -44,7 +44,7 @@ public class DraggableMakerGrid {
 
             // Si el barco está en el tablero, removerlo temporalmente
             Ship ship = shipView.getShip();
-            if (ship.getPositions() != null && !ship.getPositions().isEmpty()) {
+            if (ship.isPlaced()) {
                 board.removeShip(ship);
             }
         });
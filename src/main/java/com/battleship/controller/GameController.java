@@ -1,16 +1,36 @@
 package com.battleship.controller;
 
+import com.battleship.ai.OpponentView;
+import com.battleship.ai.ShotStrategy;
+import com.battleship.ai.StrategyRegistry;
+import com.battleship.engine.EnemyTurnRunner;
+import com.battleship.engine.GameEngine;
+import com.battleship.engine.GameLoop;
+import com.battleship.engine.GameUpdate;
+import com.battleship.engine.Shooter;
+import com.battleship.engine.ShotEvent;
 import com.battleship.model.Board;
+import com.battleship.model.BoardMasks;
+import com.battleship.model.BoardSnapshot;
 import com.battleship.model.CellState;
+import com.battleship.model.GameRandom;
 import com.battleship.persistence.GamePersistenceManager;
 import com.battleship.persistence.GameState;
 import com.battleship.persistence.PlayerData;
+import com.battleship.persistence.Replay;
+import com.battleship.persistence.ReplayFrame;
+import com.battleship.view.CanvasBoardView;
+import com.battleship.view.ImageAssets;
+import com.battleship.view.StyleState;
+import com.battleship.exceptions.LoadGameException;
 import com.battleship.exceptions.SaveGameException;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
@@ -21,8 +41,9 @@ import javafx.scene.layout.VBox;
 /**
  * Main Game Controller for Battleship.
  * <p>
- * Manages visual game logic, user-AI interaction, real-time board updates,
- * and the auto-save system. Implements a GUI based on StackPanes to layer emojis over cells.
+ * Renders a {@link GameEngine} match: forwards the player's clicks to the engine,
+ * paces the enemy turns, updates the boards from the emitted events and runs the
+ * auto-save system. Implements a GUI based on StackPanes to layer emojis over cells.
  * </p>
  *
  * @version 1.0.0
@@ -31,29 +52,47 @@ import javafx.scene.layout.VBox;
 public class GameController {
 
     // --- Game Logic ---
-    private boolean gameOver = false;
+    private GameEngine engine;
+    private GameLoop loop;              // Only thread that mutates the game once started
+    private EnemyTurnRunner enemyTurns; // Single thread that plays every enemy turn
     private Board playerBoard;
     private Board iaBoard;
-    private boolean playerTurn = true;
-    private boolean iaHunting = false; // AI state for "Hunt" mode
-    private int lastHitRow = -1;
-    private int lastHitCol = -1;
+    private GameRandom random; // Seeded source for every AI decision of this game
+
+    // --- AI Pacing ---
+    private static final long AI_TURN_MILLIS = 800;   // Minimum duration of an enemy shot, thinking included
 
     // --- UI Elements ---
     private static final int CELL_SIZE = 40;
-    private GridPane iaGrid;
-    private GridPane playerGrid;
+
+    // Visual states of the turn label, as pseudo-classes of .turn-label in styles.css
+    private enum TurnState { PLAYER_TURN, ENEMY_TURN, VICTORY, DEFEAT }
+    private static final StyleState<TurnState> TURN_STYLE = new StyleState<>(TurnState.class);
+    // Cell markers use the cell state itself: .cell-marker:water, :hit, :sunk
+    private static final StyleState<CellState> MARKER_STYLE = new StyleState<>(CellState.class);
+    // Run with -Dbattleship.renderer=canvas to draw each board on one canvas instead of 100 cell nodes
+    private static final boolean CANVAS_RENDERER = "canvas".equalsIgnoreCase(System.getProperty("battleship.renderer"));
+    private Node iaGrid;
+    private Node playerGrid;
+    private CanvasBoardView playerCanvas; // Only in canvas mode, replacing the cell nodes
+    private CanvasBoardView iaCanvas;
     private Label turnLabel;
+    private HBox replayBar;       // Hidden until the game is over and its replay archived
+    private Slider replaySlider;
+    private Label replayMoveLabel;
 
     // Visual matrices to update state without redrawing everything
     private Rectangle[][] playerCells;
     private Rectangle[][] iaCells;
     private Label[][] playerLabels;
     private Label[][] iaLabels;
+    private BoardSnapshot shownPlayerBoard; // What the grids currently show, to diff the next frame
+    private BoardSnapshot shownIaBoard;
 
     // --- Data Persistence ---
     private GameState gameState;
     private PlayerData playerData;
+    private String nickname = "Player";
     private GamePersistenceManager persistenceManager;
 
     /**
@@ -61,15 +100,22 @@ public class GameController {
      *
      * @param playerBoard Player board with ships already positioned.
      * @param iaBoard AI board generated randomly.
+     * @param random Seeded randomness source used to build the AI board.
+     * @param aiStrategy Id of the enemy AI chosen as difficulty, see {@link StrategyRegistry}.
      */
-    public void startGame(Board playerBoard, Board iaBoard) {
+    public void startGame(Board playerBoard, Board iaBoard, GameRandom random, String aiStrategy) {
         this.playerBoard = playerBoard;
         this.iaBoard = iaBoard;
+        this.random = random;
 
         // Initialize persistence system
         persistenceManager = GamePersistenceManager.getInstance();
         gameState = new GameState(playerBoard, iaBoard);
-        playerData = new PlayerData("Player");
+        gameState.setSeed(random.getSeed());
+        gameState.setAiStrategy(aiStrategy);
+        playerData = loadProfile(nickname);
+        engine = new GameEngine(gameState, createEnemyStrategy());
+        boolean playerTurn = engine.isPlayerTurn();
 
         Stage stage = new Stage();
         stage.setTitle("Battleship - In Combat");
@@ -79,6 +125,7 @@ public class GameController {
         root.setPadding(new Insets(30));
         root.setAlignment(Pos.TOP_CENTER);
         root.getStyleClass().add("battle-background");
+        applyBattleBackground(root);
 
         // Top panel with Title and Turn label
         VBox topPanel = new VBox(15);
@@ -88,9 +135,8 @@ public class GameController {
         title.getStyleClass().add("title-label");
 
         turnLabel = new Label(playerTurn ? "AYE AYE, CAPTAIN" : "ENEMY IS FIRING...");
-        turnLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 24px; -fx-text-fill: " +
-                (playerTurn ? "#2ecc71" : "#e67e22") +
-                "; -fx-effect: dropshadow(one-pass-box, black, 3, 0, 0, 1);");
+        turnLabel.getStyleClass().add("turn-label");
+        TURN_STYLE.apply(turnLabel, playerTurn ? TurnState.PLAYER_TURN : TurnState.ENEMY_TURN);
 
         topPanel.getChildren().addAll(title, turnLabel);
 
@@ -101,13 +147,13 @@ public class GameController {
         iaLabels = new Label[10][10];
 
         // Create visual grids
-        playerGrid = createBoardGrid(playerBoard, true);
-        iaGrid = createBoardGrid(iaBoard, false);
+        playerGrid = createBoardView(playerBoard, true);
+        iaGrid = createBoardView(iaBoard, false);
 
         HBox boardsBox = new HBox(40, playerGrid, iaGrid);
         boardsBox.setAlignment(Pos.CENTER);
 
-        root.getChildren().addAll(topPanel, boardsBox);
+        root.getChildren().addAll(topPanel, boardsBox, createReplayBar());
 
         // Scene configuration and CSS loading
         Scene scene = new Scene(root);
@@ -120,8 +166,10 @@ public class GameController {
         stage.setMaximized(true);
         stage.show();
 
+        startLoop(stage);
+
         // Initial auto-save
-        autoSaveGame();
+        loop.save();
     }
 
     /**
@@ -136,8 +184,11 @@ public class GameController {
         this.playerData = loadedPlayerData;
         this.playerBoard = loadedGameState.getPlayerBoard();
         this.iaBoard = loadedGameState.getEnemyBoard();
-        this.playerTurn = loadedGameState.isPlayerTurn();
-        this.gameOver = loadedGameState.isGameOver();
+
+        // Resume the seeded sequence at a point determined by the shots already fired
+        this.random = new GameRandom(loadedGameState.getSeed()).fork(loadedGameState.getTotalEnemyShots());
+        this.engine = new GameEngine(loadedGameState, createEnemyStrategy());
+        boolean playerTurn = engine.isPlayerTurn();
 
         persistenceManager = GamePersistenceManager.getInstance();
 
@@ -147,6 +198,7 @@ public class GameController {
         root.setPadding(new Insets(30));
         root.setAlignment(Pos.TOP_CENTER);
         root.getStyleClass().add("battle-background");
+        applyBattleBackground(root);
 
         VBox topPanel = new VBox(15);
         topPanel.setAlignment(Pos.CENTER);
@@ -155,9 +207,8 @@ public class GameController {
         title.getStyleClass().add("title-label");
 
         turnLabel = new Label(playerTurn ? "AYE AYE, CAPTAIN" : "ENEMY IS FIRING...");
-        turnLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 24px; -fx-text-fill: " +
-                (playerTurn ? "#2ecc71" : "#e67e22") +
-                "; -fx-effect: dropshadow(one-pass-box, black, 3, 0, 0, 1);");
+        turnLabel.getStyleClass().add("turn-label");
+        TURN_STYLE.apply(turnLabel, playerTurn ? TurnState.PLAYER_TURN : TurnState.ENEMY_TURN);
 
         topPanel.getChildren().addAll(title, turnLabel);
 
@@ -166,13 +217,13 @@ public class GameController {
         playerLabels = new Label[10][10];
         iaLabels = new Label[10][10];
 
-        playerGrid = createBoardGrid(playerBoard, true);
-        iaGrid = createBoardGrid(iaBoard, false);
+        playerGrid = createBoardView(playerBoard, true);
+        iaGrid = createBoardView(iaBoard, false);
 
         HBox boardsBox = new HBox(40, playerGrid, iaGrid);
         boardsBox.setAlignment(Pos.CENTER);
 
-        root.getChildren().addAll(topPanel, boardsBox);
+        root.getChildren().addAll(topPanel, boardsBox, createReplayBar());
 
         Scene scene = new Scene(root);
         try {
@@ -184,10 +235,98 @@ public class GameController {
         stage.setMaximized(true);
         stage.show();
 
+        boolean enemyTurnDue = !playerTurn && !engine.isGameOver();
+        startLoop(stage);
+
+        if (engine.isGameOver()) {
+            showReplay();
+        }
+
         // If loaded during AI turn, resume AI logic
-        if (!playerTurn && !gameOver) {
-            iaTurn();
+        if (enemyTurnDue) {
+            enemyTurns.playTurn();
+        }
+    }
+
+    /**
+     * Shows the battle background, decoded ahead of time by the start screen, and drops
+     * the backgrounds of the screens already left.
+     */
+    private void applyBattleBackground(Region root) {
+        ImageAssets assets = ImageAssets.getInstance();
+        assets.retain(ImageAssets.BATTLE_BACKGROUND);
+        assets.applyBackground(root, ImageAssets.BATTLE_BACKGROUND);
+    }
+
+    /**
+     * Hands the engine over to the game loop and starts the enemy runner. From here on
+     * the boards are only read through the snapshots of each update. Both stop as soon
+     * as the game window closes.
+     */
+    private void startLoop(Stage stage) {
+        loop = new GameLoop(engine, state -> autoSaveGame());
+        loop.addListener(this::recordShot);
+        loop.addListener(update -> Platform.runLater(() -> onUpdate(update)));
+        enemyTurns = new EnemyTurnRunner(loop, AI_TURN_MILLIS);
+        loop.start();
+
+        stage.setOnHidden(e -> {
+            enemyTurns.close();
+            // Leave a full snapshot behind, not just the journal since the last one
+            loop.save();
+            loop.close();
+        });
+    }
+
+    /**
+     * Creates the AI chosen for this game and points it at the player board.
+     * Games saved before the choice existed get the default difficulty.
+     */
+    private ShotStrategy createEnemyStrategy() {
+        String id = gameState.getAiStrategy();
+        if (id == null || !StrategyRegistry.contains(id)) {
+            id = StrategyRegistry.DEFAULT_ID;
+            gameState.setAiStrategy(id);
+        }
+        ShotStrategy strategy = StrategyRegistry.create(id);
+        strategy.newGame(OpponentView.of(playerBoard), random);
+        return strategy;
+    }
+
+    /**
+     * Creates the view of one board with the renderer selected for this run.
+     */
+    private Node createBoardView(Board board, boolean showShips) {
+        if (!CANVAS_RENDERER) {
+            return createBoardGrid(board, showShips);
+        }
+
+        CanvasBoardView view = new CanvasBoardView(board.getSize(), CELL_SIZE,
+                state -> getColorForState(state, showShips), this::createGlyph);
+        if (showShips) {
+            playerCanvas = view;
+        } else {
+            iaCanvas = view;
+            view.setOnCellClicked(this::handlePlayerShot);
+        }
+        view.draw(board.snapshot());
+        return view;
+    }
+
+    /**
+     * Marker of a cell state for the canvas renderer, styled like the grid labels.
+     */
+    private Node createGlyph(CellState state) {
+        String emoji = getEmojiForState(state);
+        if (emoji.isEmpty()) {
+            return null;
         }
+        Label label = new Label(emoji);
+        label.getStyleClass().add("cell-marker");
+        // Rendered outside the scene, so it needs the stylesheet of its own
+        label.getStylesheets().add(getClass().getResource("/com/battleship/view/styles.css").toExternalForm());
+        applyEmojiStyle(label, state);
+        return label;
     }
 
     /**
@@ -205,6 +344,7 @@ public class GameController {
 
         Rectangle[][] cells = showShips ? playerCells : iaCells;
         Label[][] labels = showShips ? playerLabels : iaLabels;
+        BoardSnapshot snapshot = board.snapshot();
 
         for (int row = 0; row < board.getSize(); row++) {
             for (int col = 0; col < board.getSize(); col++) {
@@ -215,14 +355,16 @@ public class GameController {
                 // Layer 1: Background
                 Rectangle cell = new Rectangle(CELL_SIZE, CELL_SIZE);
                 cell.getStyleClass().add("grid-cell");
-                cell.setFill(getColorForState(board.getCellState(row, col), showShips));
                 cells[row][col] = cell;
 
                 // Layer 2: Emoji (Text)
                 Label emojiLabel = new Label();
                 emojiLabel.setAlignment(Pos.CENTER);
+                emojiLabel.getStyleClass().add("cell-marker");
                 labels[row][col] = emojiLabel;
 
+                drawCell(row, col, snapshot.getCellState(row, col), showShips);
+
                 cellContainer.getChildren().addAll(cell, emojiLabel);
 
                 // Interaction events (only on enemy board)
@@ -236,6 +378,12 @@ public class GameController {
                 grid.add(cellContainer, col, row);
             }
         }
+
+        if (showShips) {
+            shownPlayerBoard = snapshot;
+        } else {
+            shownIaBoard = snapshot;
+        }
         return grid;
     }
 
@@ -277,219 +425,204 @@ public class GameController {
     }
 
     /**
-     * Visually updates both boards reflecting changes in the model.
-     * Applies shadow effects and specific colors to emojis.
+     * Visually updates both boards from the snapshots of an update. Only the cells that
+     * differ from the frame on screen are touched, usually one per shot and the whole
+     * ship when it sinks.
      */
-    private void refreshBoards() {
-        for (int row = 0; row < 10; row++) {
-            for (int col = 0; col < 10; col++) {
-                CellState pState = playerBoard.getCellState(row, col);
-                CellState iState = iaBoard.getCellState(row, col);
-
-                // 1. Update backgrounds
-                playerCells[row][col].setFill(getColorForState(pState, true));
-                iaCells[row][col].setFill(getColorForState(iState, false));
-
-                // 2. Update emoji text
-                playerLabels[row][col].setText(getEmojiForState(pState));
-                iaLabels[row][col].setText(getEmojiForState(iState));
-
-                // 3. Apply specific styles (Shadows and Colors)
-                applyEmojiStyle(playerLabels[row][col], pState);
-                applyEmojiStyle(iaLabels[row][col], iState);
-            }
+    private void refreshBoards(BoardSnapshot playerSnapshot, BoardSnapshot iaSnapshot) {
+        if (CANVAS_RENDERER) {
+            playerCanvas.draw(playerSnapshot);
+            iaCanvas.draw(iaSnapshot);
+            return;
+        }
+        for (int cell : playerSnapshot.changedCells(shownPlayerBoard)) {
+            int row = BoardMasks.row(cell);
+            int col = BoardMasks.col(cell);
+            drawCell(row, col, playerSnapshot.getCellState(row, col), true);
+        }
+        for (int cell : iaSnapshot.changedCells(shownIaBoard)) {
+            int row = BoardMasks.row(cell);
+            int col = BoardMasks.col(cell);
+            drawCell(row, col, iaSnapshot.getCellState(row, col), false);
         }
+        shownPlayerBoard = playerSnapshot;
+        shownIaBoard = iaSnapshot;
     }
 
     /**
-     * Applies dynamic CSS styles to emojis to improve contrast.
+     * Paints one cell: background color, emoji and its shadow style.
+     */
+    private void drawCell(int row, int col, CellState state, boolean playerSide) {
+        Rectangle cell = playerSide ? playerCells[row][col] : iaCells[row][col];
+        Label label = playerSide ? playerLabels[row][col] : iaLabels[row][col];
+        cell.setFill(getColorForState(state, playerSide));
+        label.setText(getEmojiForState(state));
+        applyEmojiStyle(label, state);
+    }
+
+    /**
+     * Applies the marker style of the cell state: shadows and colors that keep each
+     * emoji readable. Only toggles pseudo-classes; the rules live in styles.css.
      */
     private void applyEmojiStyle(Label label, CellState state) {
-        switch (state) {
-            case WATER: // Red X with thin black border
-                label.setStyle("-fx-font-size: 26px; -fx-text-fill: red; -fx-effect: dropshadow(one-pass-box, black, 2, 1.0, 0, 0);");
-                break;
-            case HIT: // Black Bomb with white glow
-                label.setStyle("-fx-font-size: 28px; -fx-text-fill: black; -fx-effect: dropshadow(gaussian, white, 8, 0.8, 0, 0);");
-                break;
-            case SUNK: // Intense RED Fire with black shadow
-                label.setStyle("-fx-font-size: 28px; -fx-text-fill: #ff2400; -fx-effect: dropshadow(one-pass-box, black, 3, 1.0, 0, 0);");
-                break;
-            default:
-                label.setStyle("");
-        }
+        MARKER_STYLE.apply(label, state);
     }
 
     /**
      * Processes the shot fired by the player.
+     * The loop rejects shots out of turn, after the game ends or at attacked cells.
      *
      * @param row Selected row.
      * @param col Selected column.
      */
     private void handlePlayerShot(int row, int col) {
-        if (!playerTurn || gameOver) return;
-
-        // Avoid shooting at already attacked cells
-        if (alreadyShot(iaBoard, row, col)) return;
-
-        CellState result = iaBoard.processShot(row, col);
+        loop.firePlayerShot(row, col);
+    }
 
-        // Update statistics
-        gameState.incrementPlayerShots();
-        if (result == CellState.HIT || result == CellState.SUNK) {
-            gameState.incrementPlayerHits();
+    /**
+     * Appends the shot to the save journal. Runs on the game loop thread, right after
+     * the shot is applied, so the journal follows the exact order of the game.
+     */
+    private void recordShot(GameUpdate update) {
+        ShotEvent event = update.getEvent();
+        try {
+            persistenceManager.recordShot(gameState, playerData, event.getShooter() == Shooter.ENEMY,
+                    event.getRow(), event.getCol(), event.getResult());
+        } catch (SaveGameException e) {
+            System.err.println("⚠️ Error saving game: " + e.getMessage());
+            e.printStackTrace();
         }
+    }
 
-        refreshBoards();
-        autoSaveGame();
-
-        // If missed, AI turn
-        if (result == CellState.WATER) {
-            playerTurn = false;
-            gameState.switchTurn();
+    /**
+     * Shows one applied shot of either side; a finished game is saved with its result.
+     * Enemy turns are started by the enemy runner itself.
+     */
+    private void onUpdate(GameUpdate update) {
+        ShotEvent event = update.getEvent();
+        refreshBoards(update.getPlayerBoard(), update.getEnemyBoard());
+
+        if (event.isGameOver()) {
+            recordResult(event.getShooter() == Shooter.PLAYER);
+            if (event.getShooter() == Shooter.PLAYER) {
+                turnLabel.setText("🏆 VICTORY! ENEMY FLEET SUNK");
+                TURN_STYLE.apply(turnLabel, TurnState.VICTORY);
+            } else {
+                turnLabel.setText("💀 DEFEAT... YOUR FLEET HAS FALLEN");
+                TURN_STYLE.apply(turnLabel, TurnState.DEFEAT);
+            }
+            loop.save();
+            showReplay();
+        } else if (event.getShooter() == Shooter.PLAYER && event.getNextTurn() == Shooter.ENEMY) {
+            // Player missed: AI turn
             turnLabel.setText("⚠️ ENEMY TURN");
-            turnLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 24px; -fx-text-fill: #e67e22; -fx-effect: dropshadow(one-pass-box, black, 3, 0, 0, 1);");
-            iaTurn();
-        }
-
-        // Check victory condition
-        if (iaBoard.allShipsSunk()) {
-            gameOver = true;
-            gameState.setGameOver(true);
-            gameState.setWinner("PLAYER");
-            gameState.setEnemyShipsSunk(iaBoard.getShips().size());
-            playerData.registerWin();
-            turnLabel.setText("🏆 VICTORY! ENEMY FLEET SUNK");
-            turnLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 32px; -fx-font-weight: bold; -fx-text-fill: #ffd700; -fx-effect: dropshadow(three-pass-box, black, 10, 0, 0, 0);");
-            autoSaveGame();
+            TURN_STYLE.apply(turnLabel, TurnState.ENEMY_TURN);
+        } else if (event.getShooter() == Shooter.ENEMY && event.getNextTurn() == Shooter.PLAYER) {
+            // Return to player turn
+            turnLabel.setText("🎯 YOUR TURN, CAPTAIN");
+            TURN_STYLE.apply(turnLabel, TurnState.PLAYER_TURN);
         }
     }
 
     /**
-     * Artificial Intelligence turn logic.
-     * Runs on a separate thread to avoid freezing the UI.
+     * Builds the replay controls, hidden until {@link #showReplay} fills them.
      */
-    private void iaTurn() {
-        new Thread(() -> {
-            try { Thread.sleep(800); } catch (Exception ignored) {} // Simulate thinking
-
-            int row, col;
-
-            // Simple hunting and shooting strategy
-            if (!iaHunting) {
-                // Random shot if no previous targets
-                do {
-                    row = (int)(Math.random() * 10);
-                    col = (int)(Math.random() * 10);
-                } while (alreadyShot(playerBoard, row, col));
-            } else {
-                // Try shooting around the last hit
-                int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-                boolean shotDone = false;
-                row = lastHitRow;
-                col = lastHitCol;
-
-                for (int[] d : directions) {
-                    int r = lastHitRow + d[0];
-                    int c = lastHitCol + d[1];
-
-                    if (isValid(r, c) && !alreadyShot(playerBoard, r, c)) {
-                        row = r;
-                        col = c;
-                        shotDone = true;
-                        break;
-                    }
-                }
-
-                // If no valid shots around, go back to random
-                if (!shotDone) {
-                    iaHunting = false;
-                    iaTurn();
-                    return;
-                }
-            }
+    private HBox createReplayBar() {
+        Label title = new Label("REPLAY");
+        title.getStyleClass().add("replay-title");
+
+        replaySlider = new Slider(0, 0, 0);
+        replaySlider.setBlockIncrement(1);
+        replaySlider.setPrefWidth(500);
+
+        replayMoveLabel = new Label();
+        replayMoveLabel.getStyleClass().add("replay-move");
+
+        replayBar = new HBox(15, title, replaySlider, replayMoveLabel);
+        replayBar.setAlignment(Pos.CENTER);
+        replayBar.setVisible(false);
+        replayBar.setManaged(false);
+        return replayBar;
+    }
 
-            // Execute shot
-            CellState result = playerBoard.processShot(row, col);
+    /**
+     * Lets the captain scrub through the finished game. Each position of the slider is
+     * rebuilt from the archived replay, so seeking costs the same anywhere in the game.
+     */
+    private void showReplay() {
+        Replay replay;
+        try {
+            replay = persistenceManager.findReplay(gameState.getGameId());
+        } catch (LoadGameException e) {
+            System.err.println("⚠️ Error loading replay: " + e.getMessage());
+            return;
+        }
+        if (replay == null) {
+            return;
+        }
 
-            gameState.incrementEnemyShots();
-            if (result == CellState.HIT || result == CellState.SUNK) {
-                gameState.incrementEnemyHits();
+        int moves = replay.getMoveCount();
+        replaySlider.setMax(moves);
+        replaySlider.setValue(moves);
+        replayMoveLabel.setText("MOVE " + moves + " / " + moves);
+        replaySlider.valueProperty().addListener((obs, oldValue, newValue) -> {
+            int move = (int) Math.round(newValue.doubleValue());
+            if (move == (int) Math.round(oldValue.doubleValue())) {
+                return;
             }
-
-            int finalRow = row;
-            int finalCol = col;
-
-            // Update UI on the main JavaFX thread
-            Platform.runLater(() -> {
-                refreshBoards();
-                autoSaveGame();
-
-                // Check player defeat
-                if (playerBoard.allShipsSunk()) {
-                    gameOver = true;
-                    gameState.setGameOver(true);
-                    gameState.setWinner("ENEMY");
-                    gameState.setPlayerShipsSunk(playerBoard.getShips().size());
-                    playerData.registerLoss();
-                    turnLabel.setText("💀 DEFEAT... YOUR FLEET HAS FALLEN");
-                    turnLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 32px; -fx-font-weight: bold; -fx-text-fill: #c0392b; -fx-effect: dropshadow(three-pass-box, black, 10, 0, 0, 0);");
-                    autoSaveGame();
-                    return;
-                }
-
-                if (result == CellState.HIT) {
-                    iaHunting = true;
-                    lastHitRow = finalRow;
-                    lastHitCol = finalCol;
-                    iaTurn(); // AI shoots again if hits
-                    return;
-                }
-
-                if (result == CellState.SUNK) {
-                    iaHunting = false;
-                    lastHitRow = -1;
-                    lastHitCol = -1;
-                    iaTurn(); // AI shoots again if sinks
-                    return;
-                }
-
-                // Return to player turn
-                playerTurn = true;
-                gameState.switchTurn();
-                turnLabel.setText("🎯 YOUR TURN, CAPTAIN");
-                turnLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 24px; -fx-text-fill: #2ecc71; -fx-effect: dropshadow(one-pass-box, black, 3, 0, 0, 1);");
-            });
-
-        }).start();
+            ReplayFrame frame = replay.frameAt(move);
+            refreshBoards(frame.getPlayerBoard(), frame.getEnemyBoard());
+            replayMoveLabel.setText("MOVE " + move + " / " + moves);
+        });
+        replayBar.setManaged(true);
+        replayBar.setVisible(true);
     }
 
     /**
-     * Automatically saves the current game state.
+     * Automatically saves the current game state. Runs on the game loop thread, which
+     * only encodes it; the file is written in the background.
      */
     private void autoSaveGame() {
         try {
-            persistenceManager.saveGame(gameState, playerData);
-            System.out.println("✅ Game saved automatically");
+            persistenceManager.saveGameAsync(gameState, playerData);
         } catch (SaveGameException e) {
             System.err.println("⚠️ Error saving game: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private boolean alreadyShot(Board board, int row, int col) {
-        CellState state = board.getCellState(row, col);
-        return state == CellState.WATER || state == CellState.HIT || state == CellState.SUNK;
+    /**
+     * Adds the finished game to the captain's profile; only that profile's record is
+     * rewritten. Called once the loop has stopped changing the boards.
+     */
+    private void recordResult(boolean won) {
+        try {
+            persistenceManager.recordGameResult(playerData, won,
+                    iaBoard.getSunkShipCount(), playerBoard.getSunkShipCount());
+        } catch (SaveGameException e) {
+            System.err.println("⚠️ Error saving profile: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
 
-    private boolean isValid(int row, int col) {
-        return row >= 0 && row < 10 && col >= 0 && col < 10;
+    /**
+     * Looks up the captain's profile, starting an empty one if it cannot be read.
+     */
+    private PlayerData loadProfile(String nickname) {
+        try {
+            return persistenceManager.loadPlayerData(nickname);
+        } catch (LoadGameException e) {
+            System.err.println("⚠️ Error loading profile: " + e.getMessage());
+            return new PlayerData(nickname);
+        }
     }
 
     /**
-     * Sets the player's nickname in the persistence data.
+     * Sets the captain whose profile this game counts for. Call it before
+     * {@link #startGame}.
      */
     public void setPlayerNickname(String nickname) {
+        this.nickname = nickname;
         if (playerData != null) {
             playerData.setNickname(nickname);
         }
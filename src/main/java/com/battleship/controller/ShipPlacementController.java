@@ -1,19 +1,25 @@
 package com.battleship.controller;
 
+import com.battleship.ai.StrategyRegistry;
 import com.battleship.model.Board;
+import com.battleship.model.GameRandom;
 import com.battleship.model.Ship;
 import com.battleship.model.ShipType;
 import com.battleship.view.GridHandler;
+import com.battleship.view.ImageAssets;
 import com.battleship.view.ShipView;
+import com.battleship.view.StyleState;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.layout.*;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
 
 /**
  * Controller for the Ship Placement Phase (Setup).
@@ -32,15 +38,28 @@ public class ShipPlacementController {
     private Pane boardPane;
     private VBox shipsPanel;
     private Label instructionLabel;
+    private ComboBox<String> difficultyBox;
 
     // --- Logic & Model ---
     private DraggableMakerGrid draggableMaker;
     private Board board;
+    private String nickname = "Player"; // Captain whose profile the game counts for
 
     // --- Constants ---
     private static final double BOARD_SIZE_PX = 500;
     private static final double SHIP_INITIAL_X = 550;
 
+    // Visual states of the instruction label, as pseudo-classes of .placement-status
+    private enum PlacementStatus { INFO, ERROR, READY }
+    private static final StyleState<PlacementStatus> STATUS_STYLE = new StyleState<>(PlacementStatus.class);
+
+    /**
+     * Sets the captain who will play the game placed on this screen.
+     */
+    public void setNickname(String nickname) {
+        this.nickname = nickname;
+    }
+
     /**
      * Initializes and displays the ship placement screen.
      *
@@ -51,6 +70,9 @@ public class ShipPlacementController {
         BorderPane root = new BorderPane();
         root.setPadding(new Insets(30));
         root.getStyleClass().add("ship-placement-background");
+        ImageAssets assets = ImageAssets.getInstance();
+        assets.retain(ImageAssets.PLACEMENT_BACKGROUND, ImageAssets.BATTLE_BACKGROUND);
+        assets.applyBackground(root, ImageAssets.PLACEMENT_BACKGROUND);
 
         // Top Panel: Title and Instructions
         VBox topPanel = createTopPanel();
@@ -121,7 +143,7 @@ public class ShipPlacementController {
         title.getStyleClass().add("title-label");
 
         instructionLabel = new Label("Arrastra los barcos al tablero");
-        instructionLabel.getStyleClass().add("subtitle-epic");
+        instructionLabel.getStyleClass().addAll("subtitle-epic", "placement-status");
 
         panel.getChildren().addAll(title, instructionLabel);
         return panel;
@@ -189,11 +211,38 @@ public class ShipPlacementController {
         startButton.setOnAction(e -> startGame());
 
         buttonBox.getChildren().addAll(resetButton, startButton);
-        panel.getChildren().add(buttonBox);
+        panel.getChildren().addAll(createDifficultyBox(), buttonBox);
 
         return panel;
     }
 
+    /**
+     * Creates the difficulty selector, listing every AI strategy available.
+     */
+    private HBox createDifficultyBox() {
+        Label label = new Label("DIFICULTAD");
+        label.getStyleClass().add("sidebar-title");
+
+        difficultyBox = new ComboBox<>();
+        difficultyBox.getItems().addAll(StrategyRegistry.getOfferedIds());
+        difficultyBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(String id) {
+                return id == null ? "" : StrategyRegistry.getDisplayName(id);
+            }
+
+            @Override
+            public String fromString(String name) {
+                return name;
+            }
+        });
+        difficultyBox.setValue(StrategyRegistry.DEFAULT_ID);
+
+        HBox box = new HBox(15, label, difficultyBox);
+        box.setAlignment(Pos.CENTER);
+        return box;
+    }
+
     /**
      * Instantiates the ship objects and places them in the initial sidebar area.
      */
@@ -254,7 +303,7 @@ public class ShipPlacementController {
                 int gridCol = (int) (currentX / 50);
                 int gridRow = (int) (currentY / 50);
 
-                boolean wasPlaced = rotatingShip.getPositions() != null && !rotatingShip.getPositions().isEmpty();
+                boolean wasPlaced = rotatingShip.isPlaced();
 
                 // 1) Remove from logic board temporarily
                 if (wasPlaced) {
@@ -298,8 +347,7 @@ public class ShipPlacementController {
         createDraggableShips();
 
         instructionLabel.setText("Tablero reiniciado | Arrastra los barcos al tablero");
-        // Maintain Cinzel font consistency
-        instructionLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 18px; -fx-text-fill: #bdc3c7; -fx-effect: dropshadow(one-pass-box, black, 2, 0, 0, 1);");
+        STATUS_STYLE.apply(instructionLabel, PlacementStatus.INFO);
     }
 
     /**
@@ -307,54 +355,34 @@ public class ShipPlacementController {
      */
     private void startGame() {
         // Validate that all ships (10 total) are placed
-        if (board.getShips().size() < 10) {
+        if (!board.allShipsPlaced()) {
             instructionLabel.setText("⚠️ Debes colocar todos los barcos antes de iniciar");
-            instructionLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 18px; -fx-text-fill: #e74c3c; -fx-font-weight: bold; -fx-effect: dropshadow(one-pass-box, black, 2, 0, 0, 1);");
+            STATUS_STYLE.apply(instructionLabel, PlacementStatus.ERROR);
             return;
         }
 
         instructionLabel.setText("⚓ Iniciando batalla...");
-        instructionLabel.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 18px; -fx-text-fill: #2ecc71; -fx-font-weight: bold; -fx-effect: dropshadow(one-pass-box, black, 2, 0, 0, 1);");
+        STATUS_STYLE.apply(instructionLabel, PlacementStatus.READY);
+
+        // Every random decision of this game derives from one seed
+        GameRandom random = new GameRandom();
 
         // Create AI board and place ships randomly
         Board iaBoard = new Board();
-        placeIAShips(iaBoard);
+        placeIAShips(iaBoard, random);
 
         // Transition to Game Screen
         Stage stage = (Stage) boardPane.getScene().getWindow();
         GameController gameController = new GameController();
-        gameController.startGame(board, iaBoard);
+        gameController.setPlayerNickname(nickname);
+        gameController.startGame(board, iaBoard, random, difficultyBox.getValue());
     }
 
     /**
      * Randomly places the enemy fleet on the AI board.
+     * The generator always yields a complete fleet.
      */
-    private void placeIAShips(Board iaBoard) {
-        ShipType[] shipTypes = {
-                ShipType.PORTAAVIONES,
-                ShipType.SUBMARINO, ShipType.SUBMARINO,
-                ShipType.DESTRUCTOR, ShipType.DESTRUCTOR, ShipType.DESTRUCTOR,
-                ShipType.FRAGATA, ShipType.FRAGATA, ShipType.FRAGATA, ShipType.FRAGATA
-        };
-
-        for (ShipType type : shipTypes) {
-            boolean placed = false;
-            int attempts = 0;
-
-            // Try to place each ship up to 100 times to avoid infinite loops
-            while (!placed && attempts < 100) {
-                int row = (int) (Math.random() * 10);
-                int col = (int) (Math.random() * 10);
-                boolean horizontal = Math.random() > 0.5;
-
-                Ship ship = new Ship(type, horizontal);
-
-                if (iaBoard.canPlaceShip(ship, row, col)) {
-                    iaBoard.placeShip(ship, row, col);
-                    placed = true;
-                }
-                attempts++;
-            }
-        }
+    private void placeIAShips(Board iaBoard, GameRandom random) {
+        iaBoard.placeShipsRandom(random);
     }
 }
\ No newline at end of file
@@ -2,18 +2,28 @@ package com.battleship.controller;
 
 import javafx.animation.FadeTransition;
 import javafx.application.Platform;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ChoiceDialog;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import com.battleship.persistence.GamePersistenceManager;
 import com.battleship.persistence.GameState;
+import com.battleship.persistence.Leaderboard;
 import com.battleship.persistence.PlayerData;
+import com.battleship.persistence.SaveHeader;
+import com.battleship.persistence.SaveSlot;
 import com.battleship.exceptions.LoadGameException;
 import com.battleship.exceptions.InvalidGameStateException;
+import com.battleship.view.ImageAssets;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Controller for the start screen handling animations and input logic.
@@ -24,9 +34,15 @@ import com.battleship.exceptions.InvalidGameStateException;
  */
 public class StartController {
 
+    // Red border and glow of an empty nickname, .text-field:invalid in styles.css
+    private static final PseudoClass INVALID = PseudoClass.getPseudoClass("invalid");
+
     @FXML
     private TextField nicknameField;
 
+    @FXML
+    private StackPane rootPane;
+
     @FXML
     private VBox mainContainer;
 
@@ -37,9 +53,17 @@ public class StartController {
      * the "Enter" key for starting the game, and adds a listener to clear error styles
      * when the user types. Finally, it triggers the entrance animation.
      * </p>
+     * <p>
+     * While the captain types, the backgrounds of the next screens are decoded in the
+     * background.
+     * </p>
      */
     @FXML
     public void initialize() {
+        ImageAssets assets = ImageAssets.getInstance();
+        assets.applyBackground(rootPane, ImageAssets.START_BACKGROUND);
+        assets.preload(ImageAssets.PLACEMENT_BACKGROUND, ImageAssets.BATTLE_BACKGROUND);
+
         Platform.runLater(() -> nicknameField.requestFocus());
 
         nicknameField.setOnKeyPressed(event -> {
@@ -48,7 +72,7 @@ public class StartController {
 
         nicknameField.textProperty().addListener((obs, oldVal, newVal) -> {
             if (!newVal.isEmpty()) {
-                nicknameField.setStyle(null);
+                nicknameField.pseudoClassStateChanged(INVALID, false);
             }
         });
 
@@ -69,8 +93,8 @@ public class StartController {
     /**
      * Handles the "New Game" button action.
      * <p>
-     * Validates that the nickname field is not empty. If valid, transitions to the
-     * Ship Placement controller. If invalid, displays an error alert.
+     * Validates that the nickname field is not empty and fits in the saves. If valid,
+     * transitions to the Ship Placement controller. If invalid, displays an error alert.
      * </p>
      */
     @FXML
@@ -78,12 +102,15 @@ public class StartController {
         String nickname = nicknameField.getText().trim();
 
         if (nickname.isEmpty()) {
-            nicknameField.setStyle("-fx-border-color: #ff4444; -fx-effect: dropshadow(three-pass-box, red, 10, 0, 0, 0);");
+            nicknameField.pseudoClassStateChanged(INVALID, true);
             showAlert("¡Alto ahí, pirata!", "Falta tu nombre", "Debes registrarte en la bitácora antes de zarpar.");
+        } else if (!GamePersistenceManager.fitsNickname(nickname)) {
+            rejectLongNickname();
         } else {
             System.out.println("Zarpando con el Capitán: " + nickname);
             Stage currentStage = (Stage) nicknameField.getScene().getWindow();
             ShipPlacementController shipPlacement = new ShipPlacementController();
+            shipPlacement.setNickname(nickname);
             shipPlacement.show(currentStage);
         }
     }
@@ -91,8 +118,11 @@ public class StartController {
     /**
      * Handles the "Load Game" button action.
      * <p>
-     * Checks if a nickname is provided and if a saved game exists. If successful,
-     * restores the game state and transitions to the Game Controller.
+     * Checks if a nickname is provided and lists that captain's games in the save
+     * store, asking which one to resume when there are several. Without any, it falls
+     * back to a save from before the store, only if it belongs to this captain. If
+     * successful, restores the game state and
+     * transitions to the Game Controller.
      * Handles {@link LoadGameException} and {@link InvalidGameStateException} if the save file is corrupt.
      * </p>
      */
@@ -101,7 +131,7 @@ public class StartController {
         String nickname = nicknameField.getText().trim();
 
         if (nickname.isEmpty()) {
-            nicknameField.setStyle("-fx-border-color: #ff4444; -fx-effect: dropshadow(three-pass-box, red, 10, 0, 0, 0);");
+            nicknameField.pseudoClassStateChanged(INVALID, true);
             showAlert(
                     "¡Bitácora Cerrada!",
                     "Capitán Desconocido",
@@ -109,12 +139,26 @@ public class StartController {
             );
             return;
         }
+        if (!GamePersistenceManager.fitsNickname(nickname)) {
+            rejectLongNickname();
+            return;
+        }
 
         System.out.println("Buscando bitácora antigua del Capitán: " + nickname);
 
         GamePersistenceManager manager = GamePersistenceManager.getInstance();
 
-        if (!manager.hasSavedGame()) {
+        // This captain's games in the save store; only the index is read
+        List<SaveSlot> saves;
+        try {
+            saves = manager.listSaves(nickname);
+        } catch (LoadGameException e) {
+            System.err.println("No se pudo leer el almacén de partidas: " + e.getMessage());
+            saves = Collections.emptyList();
+        }
+
+        // Without saves in the store, only a save from before the store that is theirs
+        if (saves.isEmpty() && !manager.hasLegacySaveOf(nickname)) {
             showAlert(
                     "¡Bitácora Vacía!",
                     "Sin Partidas Guardadas",
@@ -123,20 +167,30 @@ public class StartController {
             return;
         }
 
-        try {
-            GameState gameState = manager.loadGameState();
-            PlayerData playerData = manager.loadPlayerData();
+        SaveSlot slot = null;
+        if (!saves.isEmpty()) {
+            slot = saves.size() == 1 ? saves.get(0) : chooseSave(nickname, saves);
+            if (slot == null) {
+                return;
+            }
+        }
 
-            playerData.setNickname(nickname);
+        try {
+            // The summary only needs the fixed-size header, not the decoded boards
+            SaveHeader header = slot != null ? manager.readSaveHeader(slot) : manager.readSaveHeader();
 
             showInfoAlert(
                     "¡Bitácora Encontrada!",
                     "Partida Recuperada",
                     "Bienvenido de vuelta, Capitán " + nickname + "!\n\n" +
-                            "Última partida: " + gameState.getLastSaved() + "\n" +
-                            "Turno: " + (gameState.isPlayerTurn() ? "Tu turno" : "Turno del enemigo")
+                            "Última partida: " + header.getLastSaved() + "\n" +
+                            "Turno: " + (header.isPlayerTurn() ? "Tu turno" : "Turno del enemigo") +
+                            rankLine(manager, nickname)
             );
 
+            GameState gameState = slot != null ? manager.loadGameState(slot) : manager.loadGameState();
+            PlayerData playerData = manager.loadPlayerData(nickname);
+
             Stage currentStage = (Stage) nicknameField.getScene().getWindow();
 
             GameController gameController = new GameController();
@@ -158,7 +212,15 @@ public class StartController {
                             "Tendrás que empezar una nueva aventura."
             );
 
-            manager.deleteSavedGame();
+            // A save from another version is not damaged; keep it for a version that reads it
+            if (e.getErrorType() == LoadGameException.ErrorType.VERSION_MISMATCH) {
+                return;
+            }
+            if (slot != null) {
+                manager.deleteSave(slot);
+            } else {
+                manager.deleteSavedGame();
+            }
 
         } catch (InvalidGameStateException e) {
             System.err.println("Estado del juego inválido: " + e.getMessage());
@@ -170,10 +232,63 @@ public class StartController {
                             "Detalles: " + e.getMessage()
             );
 
-            manager.deleteSavedGame();
+            if (slot != null) {
+                manager.deleteSave(slot);
+            } else {
+                manager.deleteSavedGame();
+            }
+        }
+    }
+
+    /**
+     * Describes the captain's position in the leaderboard for the welcome alert.
+     *
+     * @return The text line, or an empty string if the captain has no finished games.
+     */
+    private String rankLine(GamePersistenceManager manager, String nickname) {
+        try {
+            Leaderboard leaderboard = manager.getLeaderboard();
+            int rank = leaderboard.rankOf(nickname);
+            return rank == 0 ? "" : "\nClasificación: #" + rank + " de " + leaderboard.size();
+        } catch (LoadGameException e) {
+            System.err.println("No se pudo leer la clasificación: " + e.getMessage());
+            return "";
         }
     }
 
+    /**
+     * Lets the captain pick one of several saved games, most recent first.
+     *
+     * @param nickname The captain's nickname.
+     * @param saves    The captain's saves, already sorted by the store.
+     * @return The chosen save, or null if the dialog was cancelled.
+     */
+    private SaveSlot chooseSave(String nickname, List<SaveSlot> saves) {
+        ChoiceDialog<SaveSlot> dialog = new ChoiceDialog<>(saves.get(0), saves);
+        dialog.setTitle("Bitácora");
+        dialog.setHeaderText("Partidas del Capitán " + nickname);
+        dialog.setContentText("Partida:");
+
+        java.net.URL cssResource = getClass().getResource("/com/battleship/view/styles.css");
+        if (cssResource != null) {
+            dialog.getDialogPane().getStylesheets().add(cssResource.toExternalForm());
+            dialog.getDialogPane().getStyleClass().add("my-dialog");
+        }
+
+        return dialog.showAndWait().orElse(null);
+    }
+
+    /**
+     * Marks the nickname field and explains that the name is too long to be stored.
+     * Saves and profiles keep a fixed number of bytes per name, so a longer one would
+     * be cut and could be mistaken for another captain's.
+     */
+    private void rejectLongNickname() {
+        nicknameField.pseudoClassStateChanged(INVALID, true);
+        showAlert("¡Alto ahí, pirata!", "Nombre demasiado largo",
+                "Tu nombre no cabe en la bitácora.\nUsa un nombre más corto antes de zarpar.");
+    }
+
     /**
      * Displays a WARNING alert with custom styling.
      *
@@ -0,0 +1,138 @@
+package com.battleship.engine;
+
+import com.battleship.model.Board;
+import com.battleship.model.BoardMasks;
+import com.battleship.model.CellState;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Plays the enemy side of a {@link GameLoop} with one dedicated daemon thread.
+ * <p>
+ * Whenever an update hands the turn to the enemy, or the enemy keeps it after a hit,
+ * the runner schedules a step. A step only chooses the next cell, which reads the
+ * boards while the loop has nothing to write; the shot is then submitted to the loop
+ * once the pacing delay has elapsed, counting the thinking time towards it. Nothing
+ * ever sleeps, recurses or spawns threads, so {@link #close()} stops at the next step.
+ * </p>
+ * <p>
+ * A step whose strategy throws, or whose shot the loop rejects, is logged and tried
+ * again while the enemy still has the turn. After a few failures in a row the runner
+ * shoots the first free cell instead, so a broken strategy cannot stall the game.
+ * </p>
+ */
+public class EnemyTurnRunner implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(EnemyTurnRunner.class.getName());
+
+    // Failed steps in a row before falling back to the first free cell
+    private static final int MAX_FAILURES = 3;
+
+    private final GameLoop loop;
+    private final GameEngine engine;
+    private final ScheduledExecutorService executor;
+    private final long pacingMillis;
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    /**
+     * @param loop         Loop that applies the enemy shots.
+     * @param pacingMillis Minimum time between the start of an enemy shot and its submission.
+     */
+    public EnemyTurnRunner(GameLoop loop, long pacingMillis) {
+        this.loop = loop;
+        this.engine = loop.getEngine();
+        this.pacingMillis = pacingMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enemy-ai");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loop.addListener(this::onUpdate);
+    }
+
+    /**
+     * Starts an enemy turn that is already due, e.g. in a game restored during the
+     * enemy's turn. Later turns start on their own.
+     */
+    public void playTurn() {
+        schedule(this::step, 0);
+    }
+
+    private void onUpdate(GameUpdate update) {
+        ShotEvent event = update.getEvent();
+        if (event.getShooter() == Shooter.ENEMY) {
+            failures.set(0);
+        }
+        if (!event.isGameOver() && event.getNextTurn() == Shooter.ENEMY) {
+            schedule(this::step, 0);
+        }
+    }
+
+    private void step() {
+        if (closed || !engine.canFire(Shooter.ENEMY)) return;
+
+        long start = System.nanoTime();
+        int cell;
+        try {
+            cell = failures.get() < MAX_FAILURES ? engine.chooseEnemyShot() : firstFreeCell();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Enemy strategy failed to choose a shot", e);
+            retry();
+            return;
+        }
+        long thinking = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // A rejected shot publishes no update, so nothing else would start the next step
+        Runnable onRejected = () -> schedule(() -> {
+            if (engine.canFire(Shooter.ENEMY)) {
+                LOGGER.warning("Enemy shot at cell " + cell + " was rejected");
+                retry();
+            }
+        }, 0);
+        schedule(() -> loop.fireEnemyShot(cell, onRejected), Math.max(0, pacingMillis - thinking));
+    }
+
+    private void retry() {
+        failures.incrementAndGet();
+        schedule(this::step, 0);
+    }
+
+    /**
+     * First cell of the player's board not shot yet, for when the strategy keeps failing.
+     */
+    private int firstFreeCell() {
+        Board board = engine.getPlayerBoard();
+        for (int cell = 0; cell < BoardMasks.CELL_COUNT; cell++) {
+            CellState state = board.getCellState(BoardMasks.row(cell), BoardMasks.col(cell));
+            if (state == CellState.EMPTY || state == CellState.SHIP) {
+                return cell;
+            }
+        }
+        throw new IllegalStateException("No free cell left on the player's board");
+    }
+
+    private void schedule(Runnable task, long delayMillis) {
+        if (closed) return;
+        try {
+            executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Closed concurrently; the turn is abandoned
+        }
+    }
+
+    /**
+     * Cancels any pending step and stops the AI thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+}
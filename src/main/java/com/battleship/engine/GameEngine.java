@@ -0,0 +1,204 @@
+package com.battleship.engine;
+
+import com.battleship.ai.ShotStrategy;
+import com.battleship.model.Board;
+import com.battleship.model.BoardMasks;
+import com.battleship.model.CellState;
+import com.battleship.model.Ship;
+import com.battleship.model.ShipType;
+import com.battleship.persistence.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Headless Battleship rules engine.
+ * <p>
+ * Owns the two boards and the {@link GameState} counters, applies shots, switches
+ * turns, detects the winner and plays the enemy turns through a {@link ShotStrategy}.
+ * It has no JavaFX dependency, so full games can run on a server JVM or in bulk
+ * self-play; the UI only listens to the {@link ShotEvent}s it emits.
+ * </p>
+ * <p>
+ * The engine is not thread-safe: all calls must come from one thread at a time.
+ * </p>
+ */
+public class GameEngine {
+
+    private final GameState gameState;
+    private final Board playerBoard;
+    private final Board enemyBoard;
+    private final ShotStrategy enemyStrategy;
+    private final List<GameListener> listeners = new ArrayList<>();
+
+    /**
+     * @param gameState     New or restored game state holding both boards.
+     * @param enemyStrategy AI that plays the enemy turns against the player board; its
+     *                      {@link ShotStrategy#newGame} must already have been called.
+     */
+    public GameEngine(GameState gameState, ShotStrategy enemyStrategy) {
+        this.gameState = gameState;
+        this.playerBoard = gameState.getPlayerBoard();
+        this.enemyBoard = gameState.getEnemyBoard();
+        this.enemyStrategy = enemyStrategy;
+    }
+
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Fires the player's shot at the enemy board.
+     *
+     * @return The resulting event, or null if it is not the player's turn, the game
+     *         is over or the cell was already shot.
+     */
+    public ShotEvent firePlayerShot(int row, int col) {
+        return fire(Shooter.PLAYER, row, col);
+    }
+
+    /**
+     * Plays one enemy shot chosen by the enemy strategy.
+     *
+     * @return The resulting event, or null if it is not the enemy's turn or the game is over.
+     */
+    public ShotEvent fireEnemyShot() {
+        if (!canFire(Shooter.ENEMY)) {
+            return null;
+        }
+        return fireEnemyShot(chooseEnemyShot());
+    }
+
+    /**
+     * Asks the enemy strategy for its next target without changing any board, so the
+     * choice can be computed on another thread than the one applying it.
+     *
+     * @return Packed index of the chosen cell.
+     */
+    public int chooseEnemyShot() {
+        return enemyStrategy.nextShot();
+    }
+
+    /**
+     * Applies an enemy shot previously chosen with {@link #chooseEnemyShot()} and
+     * reports its outcome to the strategy.
+     *
+     * @return The resulting event, or null if the shot is not allowed.
+     */
+    public ShotEvent fireEnemyShot(int cell) {
+        ShotEvent event = fire(Shooter.ENEMY, BoardMasks.row(cell), BoardMasks.col(cell));
+        if (event != null) {
+            enemyStrategy.onShotResult(event.getRow(), event.getCol(), event.getResult());
+            if (event.getSunkType() != null) {
+                enemyStrategy.onShipSunk(event.getSunkType());
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Applies a shot from the given side: updates counters, switches the turn on a
+     * miss, detects the end of the game and notifies the listeners.
+     *
+     * @return The resulting event, or null if the shot is not allowed.
+     */
+    public ShotEvent fire(Shooter shooter, int row, int col) {
+        if (!canFire(shooter) || !BoardMasks.inBounds(row, col)) {
+            return null;
+        }
+
+        Board target = getTargetBoard(shooter);
+        if (alreadyShot(target, row, col)) {
+            return null;
+        }
+
+        CellState result = target.processShot(row, col);
+        gameState.recordMove(BoardMasks.index(row, col));
+        boolean hit = result == CellState.HIT || result == CellState.SUNK;
+        ShipType sunkType = null;
+        if (result == CellState.SUNK) {
+            Ship sunk = target.getShipAt(row, col);
+            sunkType = sunk != null ? sunk.getType() : null;
+        }
+
+        // Update statistics
+        if (shooter == Shooter.PLAYER) {
+            gameState.incrementPlayerShots();
+            if (hit) gameState.incrementPlayerHits();
+        } else {
+            gameState.incrementEnemyShots();
+            if (hit) gameState.incrementEnemyHits();
+        }
+
+        if (target.allShipsSunk()) {
+            gameState.setGameOver(true);
+            gameState.setWinner(shooter.name());
+            if (shooter == Shooter.PLAYER) {
+                gameState.setEnemyShipsSunk(target.getSunkShipCount());
+            } else {
+                gameState.setPlayerShipsSunk(target.getSunkShipCount());
+            }
+        } else if (!hit) {
+            // A miss hands the turn to the opponent
+            gameState.switchTurn();
+        }
+
+        ShotEvent event = new ShotEvent(shooter, row, col, result, sunkType, getCurrentTurn(), gameState.isGameOver());
+        for (GameListener listener : listeners) {
+            listener.onShot(event);
+        }
+        return event;
+    }
+
+    public boolean canFire(Shooter shooter) {
+        return !gameState.isGameOver() && getCurrentTurn() == shooter;
+    }
+
+    public Shooter getCurrentTurn() {
+        return gameState.isPlayerTurn() ? Shooter.PLAYER : Shooter.ENEMY;
+    }
+
+    public boolean isPlayerTurn() {
+        return gameState.isPlayerTurn();
+    }
+
+    public boolean isGameOver() {
+        return gameState.isGameOver();
+    }
+
+    /**
+     * @return The winning side, or null while the game is running.
+     */
+    public Shooter getWinner() {
+        String winner = gameState.getWinner();
+        return winner == null ? null : Shooter.valueOf(winner);
+    }
+
+    /**
+     * @return Board that the given side fires at.
+     */
+    public Board getTargetBoard(Shooter shooter) {
+        return shooter == Shooter.PLAYER ? enemyBoard : playerBoard;
+    }
+
+    public Board getPlayerBoard() {
+        return playerBoard;
+    }
+
+    public Board getEnemyBoard() {
+        return enemyBoard;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    private static boolean alreadyShot(Board board, int row, int col) {
+        CellState state = board.getCellState(row, col);
+        return state == CellState.WATER || state == CellState.HIT || state == CellState.SUNK;
+    }
+}
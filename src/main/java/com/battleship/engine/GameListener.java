@@ -0,0 +1,9 @@
+package com.battleship.engine;
+
+/**
+ * Receives the events emitted by {@link GameEngine}, on the thread that fired the shot.
+ */
+public interface GameListener {
+
+    void onShot(ShotEvent event);
+}
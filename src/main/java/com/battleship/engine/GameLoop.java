@@ -0,0 +1,190 @@
+package com.battleship.engine;
+
+import com.battleship.model.BoardMasks;
+import com.battleship.persistence.GameState;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single-writer loop around a {@link GameEngine}.
+ * <p>
+ * Any thread may submit commands (player shot, enemy shot, save); they go into a
+ * lock-free multi-producer queue and one dedicated thread applies them in arrival
+ * order. That thread is the only one that ever mutates the boards or the
+ * {@link GameState}. After each applied shot it publishes an immutable
+ * {@link GameUpdate} to the listeners, which are called on the loop thread and must
+ * hand the update over to their own thread if they need to.
+ * </p>
+ */
+public class GameLoop implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(GameLoop.class.getName());
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    private enum CommandType { PLAYER_SHOT, ENEMY_SHOT, SAVE }
+
+    private static final class Command {
+        final CommandType type;
+        final int cell;
+        final Runnable onRejected;
+
+        Command(CommandType type, int cell) {
+            this(type, cell, null);
+        }
+
+        Command(CommandType type, int cell, Runnable onRejected) {
+            this.type = type;
+            this.cell = cell;
+            this.onRejected = onRejected;
+        }
+    }
+
+    private final GameEngine engine;
+    private final Consumer<GameState> saver;
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<GameUpdate>> listeners = new CopyOnWriteArrayList<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * @param engine Engine driven by this loop; no other thread may call it once started.
+     * @param saver  Persists the game state; runs on the loop thread for each save command.
+     */
+    public GameLoop(GameEngine engine, Consumer<GameState> saver) {
+        this.engine = engine;
+        this.saver = saver;
+        this.writer = new Thread(this::run, "game-loop");
+        this.writer.setDaemon(true);
+    }
+
+    public void start() {
+        writer.start();
+    }
+
+    public void addListener(Consumer<GameUpdate> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<GameUpdate> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Queues a player shot; it is ignored if it is not allowed when applied.
+     */
+    public void firePlayerShot(int row, int col) {
+        submit(new Command(CommandType.PLAYER_SHOT, BoardMasks.index(row, col)));
+    }
+
+    /**
+     * Queues an enemy shot at a cell chosen with {@link GameEngine#chooseEnemyShot()}.
+     *
+     * @param onRejected Called on the loop thread if the shot is not applied, since no
+     *                   update is published then; may be null.
+     */
+    public void fireEnemyShot(int cell, Runnable onRejected) {
+        submit(new Command(CommandType.ENEMY_SHOT, cell, onRejected));
+    }
+
+    /**
+     * Queues a save of the game state as it is once the preceding commands are applied.
+     */
+    public void save() {
+        submit(new Command(CommandType.SAVE, -1));
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    private void submit(Command command) {
+        commands.offer(command);
+        LockSupport.unpark(writer);
+    }
+
+    private void run() {
+        while (running) {
+            Command command = commands.poll();
+            if (command == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            execute(command);
+        }
+
+        // Commands queued before closing, such as a last save, are still applied
+        Command command;
+        while ((command = commands.poll()) != null) {
+            execute(command);
+        }
+    }
+
+    private void execute(Command command) {
+        try {
+            switch (command.type) {
+                case PLAYER_SHOT:
+                    publish(engine.firePlayerShot(
+                            BoardMasks.row(command.cell),
+                            BoardMasks.col(command.cell)));
+                    break;
+                case ENEMY_SHOT:
+                    ShotEvent event = engine.fireEnemyShot(command.cell);
+                    if (event == null) {
+                        reject(command);
+                    }
+                    publish(event);
+                    break;
+                case SAVE:
+                    saver.accept(engine.getGameState());
+                    break;
+                default:
+                    break;
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error applying command " + command.type, e);
+            reject(command);
+        }
+    }
+
+    private static void reject(Command command) {
+        if (command.onRejected != null) {
+            command.onRejected.run();
+        }
+    }
+
+    private void publish(ShotEvent event) {
+        if (event == null) {
+            return; // Shot not allowed: nothing changed
+        }
+        GameUpdate update = new GameUpdate(event,
+                engine.getPlayerBoard().snapshot(), engine.getEnemyBoard().snapshot());
+        for (Consumer<GameUpdate> listener : listeners) {
+            listener.accept(update);
+        }
+    }
+
+    /**
+     * Stops the loop after applying the commands already queued, waiting briefly for
+     * them so that a last save is not lost when the application exits.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        if (Thread.currentThread() != writer) {
+            try {
+                writer.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.battleship.engine;
+
+import com.battleship.model.BoardSnapshot;
+
+/**
+ * Immutable result published by {@link GameLoop} after each applied shot: the shot
+ * itself plus snapshots of both boards taken right after it. Safe to hand to any thread.
+ */
+public final class GameUpdate {
+
+    private final ShotEvent event;
+    private final BoardSnapshot playerBoard;
+    private final BoardSnapshot enemyBoard;
+
+    public GameUpdate(ShotEvent event, BoardSnapshot playerBoard, BoardSnapshot enemyBoard) {
+        this.event = event;
+        this.playerBoard = playerBoard;
+        this.enemyBoard = enemyBoard;
+    }
+
+    public ShotEvent getEvent() { return event; }
+
+    public BoardSnapshot getPlayerBoard() { return playerBoard; }
+
+    public BoardSnapshot getEnemyBoard() { return enemyBoard; }
+}
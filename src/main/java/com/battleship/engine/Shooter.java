@@ -0,0 +1,14 @@
+package com.battleship.engine;
+
+/**
+ * Side that fires a shot. The names match the turn values stored in
+ * {@link com.battleship.persistence.GameState}.
+ */
+public enum Shooter {
+    PLAYER,
+    ENEMY;
+
+    public Shooter opponent() {
+        return this == PLAYER ? ENEMY : PLAYER;
+    }
+}
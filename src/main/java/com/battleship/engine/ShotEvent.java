@@ -0,0 +1,69 @@
+package com.battleship.engine;
+
+import com.battleship.model.CellState;
+import com.battleship.model.ShipType;
+
+/**
+ * Immutable outcome of one shot, emitted by {@link GameEngine}.
+ */
+public final class ShotEvent {
+
+    private final Shooter shooter;
+    private final int row;
+    private final int col;
+    private final CellState result;
+    private final ShipType sunkType;
+    private final Shooter nextTurn;
+    private final boolean gameOver;
+
+    public ShotEvent(Shooter shooter, int row, int col, CellState result, ShipType sunkType,
+                     Shooter nextTurn, boolean gameOver) {
+        this.shooter = shooter;
+        this.row = row;
+        this.col = col;
+        this.result = result;
+        this.sunkType = sunkType;
+        this.nextTurn = nextTurn;
+        this.gameOver = gameOver;
+    }
+
+    public Shooter getShooter() { return shooter; }
+
+    public int getRow() { return row; }
+
+    public int getCol() { return col; }
+
+    public CellState getResult() { return result; }
+
+    /**
+     * @return Type of the ship sunk by this shot, or null if the result is not SUNK.
+     */
+    public ShipType getSunkType() { return sunkType; }
+
+    /**
+     * @return Side whose turn it is after this shot.
+     */
+    public Shooter getNextTurn() { return nextTurn; }
+
+    public boolean isGameOver() { return gameOver; }
+
+    /**
+     * @return True if the shot hit or sank a ship, which grants another shot.
+     */
+    public boolean isHit() {
+        return result == CellState.HIT || result == CellState.SUNK;
+    }
+
+    @Override
+    public String toString() {
+        return "ShotEvent{" +
+                "shooter=" + shooter +
+                ", row=" + row +
+                ", col=" + col +
+                ", result=" + result +
+                ", sunkType=" + sunkType +
+                ", nextTurn=" + nextTurn +
+                ", gameOver=" + gameOver +
+                '}';
+    }
+}
@@ -0,0 +1,319 @@
+package com.battleship.engine;
+
+import com.battleship.ai.MonteCarloAI;
+import com.battleship.ai.OpponentView;
+import com.battleship.ai.ShotStrategy;
+import com.battleship.ai.StrategyRegistry;
+import com.battleship.model.Board;
+import com.battleship.model.BoardMasks;
+import com.battleship.model.GameRandom;
+import com.battleship.persistence.GameState;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Command-line AI-vs-AI tournament.
+ * <p>
+ * Plays N headless games on a fork-join pool. Every game builds its own boards,
+ * strategies and {@link GameEngine} from a random stream forked off the tournament
+ * seed, so games share nothing and the whole run is reproducible. While it runs it
+ * streams throughput and shots-to-win statistics; with {@code --scaling} it repeats
+ * the run with 1, 2, 4... worker threads to show per-core scaling.
+ * </p>
+ * <p>
+ * Strategies may come from other modules, so one that fires at a cell it already shot
+ * or outside the board forfeits the game instead of aborting the run: the game is
+ * reported on standard error and counted apart from the wins.
+ * </p>
+ * <p>
+ * It has its own entry point because the Java launcher starts the JavaFX toolkit
+ * for any {@code Application} main class before {@code main} runs:
+ * </p>
+ * <pre>
+ * java -p target/classes:&lt;javafx jars&gt; -m com.battleship/com.battleship.engine.TournamentRunner --games 100000 --threads 8
+ * </pre>
+ */
+public class TournamentRunner {
+
+    // Games played per fork-join leaf before merging its statistics
+    private static final int LEAF_GAMES = 256;
+
+    // Layouts sampled per Monte Carlo move; a fixed count keeps tournaments reproducible
+    private static final int MONTE_CARLO_SAMPLES = 2_000;
+
+    // A winner needs at most one shot per cell
+    private static final int MAX_SHOTS = BoardMasks.CELL_COUNT;
+
+    // Outcome of a game lost to an invalid shot; no real outcome can be this low
+    private static final int FORFEIT = Integer.MIN_VALUE;
+
+    private final long games;
+    private final int threads;
+    private final long seed;
+    private final String playerAI;
+    private final String enemyAI;
+
+    // Aggregated results, merged once per leaf
+    private final LongAdder gamesDone = new LongAdder();
+    private final LongAdder playerWins = new LongAdder();
+    private final LongAdder forfeits = new LongAdder();
+    private final AtomicLongArray shotsToWin = new AtomicLongArray(MAX_SHOTS + 1);
+
+    public TournamentRunner(long games, int threads, long seed, String playerAI, String enemyAI) {
+        this.games = games;
+        this.threads = threads;
+        this.seed = seed;
+        this.playerAI = playerAI;
+        this.enemyAI = enemyAI;
+    }
+
+    /**
+     * Runs the tournament, printing a progress line every {@code reportMillis}.
+     *
+     * @return Throughput of the whole run in games per second.
+     */
+    public double run(long reportMillis) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tournament-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        reporter.scheduleAtFixedRate(() -> printProgress(start), reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+        try {
+            pool.invoke(new GameRange(0, games, seed, playerAI, enemyAI, gamesDone, playerWins, forfeits, shotsToWin));
+        } finally {
+            reporter.shutdownNow();
+            pool.shutdown();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        printProgress(start);
+        return games / (elapsed / 1e9);
+    }
+
+    /**
+     * Plays one complete game and returns the shots the winner needed, negated when
+     * the enemy side won, or {@link #FORFEIT} if a strategy fired an invalid shot.
+     */
+    private static int playGame(long seed, String playerAI, String enemyAI, long index) {
+        GameRandom random = new GameRandom(seed).fork(index);
+
+        Board playerBoard = new Board();
+        Board enemyBoard = new Board();
+        playerBoard.placeShipsRandom(random);
+        enemyBoard.placeShipsRandom(random);
+
+        GameState state = new GameState(playerBoard, enemyBoard);
+        state.setSeed(random.getSeed());
+
+        ShotStrategy player = createStrategy(playerAI, enemyBoard, random.fork(Shooter.PLAYER.ordinal()));
+        ShotStrategy enemy = createStrategy(enemyAI, playerBoard, random.fork(Shooter.ENEMY.ordinal()));
+        GameEngine engine = new GameEngine(state, enemy);
+
+        while (!engine.isGameOver()) {
+            if (engine.isPlayerTurn()) {
+                int cell = player.nextShot();
+                ShotEvent event = engine.firePlayerShot(BoardMasks.row(cell), BoardMasks.col(cell));
+                if (event == null) {
+                    return forfeit(index, Shooter.PLAYER, playerAI, cell);
+                }
+                player.onShotResult(event.getRow(), event.getCol(), event.getResult());
+                if (event.getSunkType() != null) {
+                    player.onShipSunk(event.getSunkType());
+                }
+            } else {
+                int cell = engine.chooseEnemyShot();
+                if (engine.fireEnemyShot(cell) == null) {
+                    return forfeit(index, Shooter.ENEMY, enemyAI, cell);
+                }
+            }
+        }
+
+        return engine.getWinner() == Shooter.PLAYER
+                ? state.getTotalPlayerShots()
+                : -state.getTotalEnemyShots();
+    }
+
+    private static int forfeit(long index, Shooter side, String id, int cell) {
+        System.err.printf(Locale.ROOT, "Game %d forfeited: %s AI '%s' fired at invalid or repeated cell %d%n",
+                index, side, id, cell);
+        return FORFEIT;
+    }
+
+    private static ShotStrategy createStrategy(String id, Board target, GameRandom random) {
+        // Games already fill the pool, so Monte Carlo samples on its own worker with a
+        // fixed count instead of a time budget
+        ShotStrategy strategy = "montecarlo".equals(id)
+                ? new MonteCarloAI(0L, MONTE_CARLO_SAMPLES, null)
+                : StrategyRegistry.create(id);
+        strategy.newGame(OpponentView.of(target), random);
+        return strategy;
+    }
+
+    private void printProgress(long start) {
+        long done = gamesDone.sum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] histogram = new long[MAX_SHOTS + 1];
+        long total = 0;
+        long sum = 0;
+        for (int shots = 0; shots <= MAX_SHOTS; shots++) {
+            histogram[shots] = shotsToWin.get(shots);
+            total += histogram[shots];
+            sum += histogram[shots] * shots;
+        }
+        long forfeited = forfeits.sum();
+        if (total == 0) {
+            System.out.printf(Locale.ROOT, "[%6.1fs] %d/%d games | forfeits %d%n", seconds, done, games, forfeited);
+            return;
+        }
+
+        System.out.printf(Locale.ROOT,
+                "[%6.1fs] %d/%d games | %.0f games/s | player wins %.1f%% | forfeits %d | shots to win mean %.2f p50 %d p90 %d p99 %d%n",
+                seconds, done, games, done / seconds,
+                100.0 * playerWins.sum() / total,
+                forfeited,
+                (double) sum / total,
+                percentile(histogram, total, 0.50),
+                percentile(histogram, total, 0.90),
+                percentile(histogram, total, 0.99));
+    }
+
+    private static int percentile(long[] histogram, long total, double p) {
+        long rank = (long) Math.ceil(p * total);
+        long seen = 0;
+        for (int shots = 0; shots < histogram.length; shots++) {
+            seen += histogram[shots];
+            if (seen >= rank) return shots;
+        }
+        return histogram.length - 1;
+    }
+
+    /**
+     * Fork-join task over a range of game indices. Leaves keep local statistics and
+     * merge them once, so games never contend on shared counters. It carries the
+     * tournament settings and counters itself instead of reaching into the runner.
+     */
+    private static final class GameRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final long seed;
+        private final String playerAI;
+        private final String enemyAI;
+        private final LongAdder gamesDone;
+        private final LongAdder playerWins;
+        private final LongAdder forfeits;
+        private final AtomicLongArray shotsToWin;
+
+        GameRange(long from, long to, long seed, String playerAI, String enemyAI,
+                  LongAdder gamesDone, LongAdder playerWins, LongAdder forfeits, AtomicLongArray shotsToWin) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.playerAI = playerAI;
+            this.enemyAI = enemyAI;
+            this.gamesDone = gamesDone;
+            this.playerWins = playerWins;
+            this.forfeits = forfeits;
+            this.shotsToWin = shotsToWin;
+        }
+
+        private GameRange subrange(long from, long to) {
+            return new GameRange(from, to, seed, playerAI, enemyAI, gamesDone, playerWins, forfeits, shotsToWin);
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_GAMES) {
+                long mid = (from + to) >>> 1;
+                invokeAll(subrange(from, mid), subrange(mid, to));
+                return;
+            }
+
+            int[] localShots = new int[MAX_SHOTS + 1];
+            int localWins = 0;
+            int localForfeits = 0;
+            for (long index = from; index < to; index++) {
+                int outcome = playGame(seed, playerAI, enemyAI, index);
+                if (outcome == FORFEIT) {
+                    localForfeits++;
+                    continue;
+                }
+                if (outcome > 0) localWins++;
+                localShots[Math.abs(outcome)]++;
+            }
+
+            for (int shots = 0; shots <= MAX_SHOTS; shots++) {
+                if (localShots[shots] != 0) shotsToWin.addAndGet(shots, localShots[shots]);
+            }
+            playerWins.add(localWins);
+            forfeits.add(localForfeits);
+            gamesDone.add(to - from);
+        }
+    }
+
+    /**
+     * Entry point of the tournament mode.
+     * Options: --games N, --threads T, --seed S, --player-ai ID, --enemy-ai ID,
+     * --report-ms MS, --scaling. AI ids are those of {@link StrategyRegistry#getIds()}.
+     */
+    public static void main(String[] args) {
+        long games = 100_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        String playerAI = "hunt";
+        String enemyAI = "hunt";
+        long reportMillis = 1000;
+        boolean scaling = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games": games = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--player-ai": playerAI = args[++i]; break;
+                case "--enemy-ai": enemyAI = args[++i]; break;
+                case "--report-ms": reportMillis = Long.parseLong(args[++i]); break;
+                case "--scaling": scaling = true; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        for (String id : new String[] {playerAI, enemyAI}) {
+            if (!StrategyRegistry.contains(id)) {
+                throw new IllegalArgumentException("Unknown AI: " + id + ", available: " + StrategyRegistry.getIds());
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "Tournament: %d games, %s vs %s, seed %d%n", games, playerAI, enemyAI, seed);
+
+        if (!scaling) {
+            new TournamentRunner(games, threads, seed, playerAI, enemyAI).run(reportMillis);
+            return;
+        }
+
+        // Same games at increasing thread counts; efficiency is relative to one thread
+        double single = 0;
+        int t = 1;
+        while (true) {
+            System.out.printf(Locale.ROOT, "--- %d thread(s) ---%n", t);
+            double throughput = new TournamentRunner(games, t, seed, playerAI, enemyAI).run(reportMillis);
+            if (t == 1) single = throughput;
+            System.out.printf(Locale.ROOT, "%d thread(s): %.0f games/s, %.0f games/s per thread, %.0f%% scaling efficiency%n",
+                    t, throughput, throughput / t, 100.0 * throughput / (single * t));
+            if (t == threads) break;
+            t = Math.min(t * 2, threads);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.battleship.main;
 
+import com.battleship.persistence.GamePersistenceManager;
 import com.battleship.view.StartView;
 import javafx.application.Application;
 import javafx.scene.Scene;
@@ -36,6 +37,17 @@ public class Main extends Application {
         primaryStage.show();
     }
 
+    /**
+     * Called when the application exits.
+     * <p>
+     * Waits for the auto-saves still being written in the background.
+     * </p>
+     */
+    @Override
+    public void stop() {
+        GamePersistenceManager.getInstance().flush();
+    }
+
     /**
      * The main method is the entry point for the Java application.
      * <p>
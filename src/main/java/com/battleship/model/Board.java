@@ -3,28 +3,51 @@ package com.battleship.model;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 
+/**
+ * Tablero de juego respaldado por máscaras de bits.
+ * <p>
+ * El estado de cada celda se deriva de cuatro máscaras de 128 bits (barcos, disparos,
+ * impactos y hundidos) y una tabla celda -> id de barco, de modo que disparar,
+ * validar una colocación y comprobar la victoria son operaciones de tiempo constante.
+ * </p>
+ */
 public class Board implements Serializable {
-    private static final long serialVersionUID = 1L;
-    private static final int SIZE = 10;
+    private static final long serialVersionUID = 2L;
+    private static final int SIZE = BoardMasks.SIZE;
+    private static final int CELL_COUNT = BoardMasks.CELL_COUNT;
+
+    // Máscaras de 128 bits: lo = celdas 0-63, hi = celdas 64-99
+    private long shipLo, shipHi;
+    private long shotLo, shotHi;
+    private long hitLo, hitHi;
+    private long sunkLo, sunkHi;
+
+    // Tabla celda -> id de barco + 1 (0 = sin barco)
+    private byte[] shipIds;
+
+    // Barcos indexados por id y celdas que ocupaba cada uno al colocarlo
+    private Ship[] fleet;
+    private long[] fleetSpanLo;
+    private long[] fleetSpanHi;
 
-    private CellState[][] grid;
     private List<Ship> ships;
 
+    // Contadores incrementales de la flota
+    private int remainingShips;      // Barcos colocados que aún no se hunden
+    private int[] placedPerType;     // Barcos colocados por ShipType (ordinal)
+    private int typesOutOfQuota;     // Tipos cuya cantidad colocada no coincide con la requerida
+
     public Board() {
-        this.grid = new CellState[SIZE][SIZE];
+        this.shipIds = new byte[CELL_COUNT];
+        this.fleet = new Ship[CELL_COUNT];
+        this.fleetSpanLo = new long[CELL_COUNT];
+        this.fleetSpanHi = new long[CELL_COUNT];
         this.ships = new ArrayList<>();
-        initializeGrid();
-    }
-
-    private void initializeGrid() {
-        for (int row = 0; row < SIZE; row++) {
-            for (int col = 0; col < SIZE; col++) {
-                grid[row][col] = CellState.EMPTY;
-            }
-        }
+        this.placedPerType = new int[ShipType.values().length];
+        this.typesOutOfQuota = placedPerType.length;
     }
 
 
@@ -32,176 +55,287 @@ public class Board implements Serializable {
         int size = ship.getSize();
         boolean horizontal = ship.isHorizontal();
 
-
-        if (horizontal) {
-            if (startCol + size > SIZE) return false;
-        } else {
-            if (startRow + size > SIZE) return false;
-        }
-
-
-        for (int i = 0; i < size; i++) {
-            int row = horizontal ? startRow : startRow + i;
-            int col = horizontal ? startCol + i : startCol;
-
-            if (grid[row][col] != CellState.EMPTY) {
-                return false;
-            }
+        if (!BoardMasks.fits(size, horizontal, startRow, startCol)) {
+            return false;
         }
 
-        return true;
+        // Todas las celdas deben estar vacías (sin barco y sin disparos)
+        int anchor = BoardMasks.index(startRow, startCol);
+        return ((shipLo | shotLo) & BoardMasks.spanLo(size, horizontal, anchor)) == 0
+                && ((shipHi | shotHi) & BoardMasks.spanHi(size, horizontal, anchor)) == 0;
     }
 
 
     public boolean placeShip(Ship ship, int startRow, int startCol) {
-        if (!canPlaceShip(ship, startRow, startCol)) {
+        if (findShipId(ship) >= 0 || !canPlaceShip(ship, startRow, startCol)) {
             return false;
         }
 
+        int id = nextFreeId();
+        if (id < 0) {
+            return false;
+        }
 
         ship.setPositions(startRow, startCol);
 
+        int anchor = BoardMasks.index(startRow, startCol);
+        long spanLo = BoardMasks.spanLo(ship.getSize(), ship.isHorizontal(), anchor);
+        long spanHi = BoardMasks.spanHi(ship.getSize(), ship.isHorizontal(), anchor);
 
-        for (Position pos : ship.getPositions()) {
-            grid[pos.getRow()][pos.getCol()] = CellState.SHIP;
-        }
-
+        shipLo |= spanLo;
+        shipHi |= spanHi;
+        setShipIds(spanLo, spanHi, (byte) (id + 1));
 
+        fleet[id] = ship;
+        fleetSpanLo[id] = spanLo;
+        fleetSpanHi[id] = spanHi;
         ships.add(ship);
+
+        if (!ship.isSunk()) {
+            remainingShips++;
+        }
+        updateTypeCount(ship.getType(), 1);
         return true;
     }
 
 
     public void removeShip(Ship ship) {
-
-        for (Position pos : ship.getPositions()) {
-            grid[pos.getRow()][pos.getCol()] = CellState.EMPTY;
+        int id = findShipId(ship);
+        if (id < 0) {
+            return; // El barco no está en este tablero
         }
 
-
+        long spanLo = fleetSpanLo[id];
+        long spanHi = fleetSpanHi[id];
+
+        shipLo &= ~spanLo;
+        shipHi &= ~spanHi;
+        shotLo &= ~spanLo;
+        shotHi &= ~spanHi;
+        hitLo &= ~spanLo;
+        hitHi &= ~spanHi;
+        sunkLo &= ~spanLo;
+        sunkHi &= ~spanHi;
+        setShipIds(spanLo, spanHi, (byte) 0);
+
+        fleet[id] = null;
+        fleetSpanLo[id] = 0L;
+        fleetSpanHi[id] = 0L;
         ships.remove(ship);
+
+        if (!ship.isSunk()) {
+            remainingShips--;
+        }
+        updateTypeCount(ship.getType(), -1);
     }
 
 
     public CellState processShot(int row, int col) {
         // Validar límites
-        if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
+        if (!BoardMasks.inBounds(row, col)) {
             throw new IllegalArgumentException("Posición fuera de límites");
         }
 
+        int cell = BoardMasks.index(row, col);
+
         // Verificar si ya se disparó aquí
-        CellState current = grid[row][col];
-        if (current == CellState.WATER || current == CellState.HIT || current == CellState.SUNK) {
-            return current; // Ya disparado
+        if (BoardMasks.test(shotLo, shotHi, cell)) {
+            return getCellState(row, col); // Ya disparado
         }
 
+        shotLo |= BoardMasks.bitLo(cell);
+        shotHi |= BoardMasks.bitHi(cell);
+
         // Disparo al agua
-        if (current == CellState.EMPTY) {
-            grid[row][col] = CellState.WATER;
+        if (!BoardMasks.test(shipLo, shipHi, cell)) {
             return CellState.WATER;
         }
 
         // Disparo a un barco
-        if (current == CellState.SHIP) {
-            grid[row][col] = CellState.HIT;
-
-            // Buscar el barco impactado
-            Ship hitShip = findShipAt(row, col);
-            if (hitShip != null) {
-                hitShip.hit();
-
-                // Verificar si el barco se hundió
-                if (hitShip.isSunk()) {
-                    markShipAsSunk(hitShip);
-                    return CellState.SUNK;
-                }
+        hitLo |= BoardMasks.bitLo(cell);
+        hitHi |= BoardMasks.bitHi(cell);
+
+        int id = shipIds[cell] - 1;
+        if (id >= 0) {
+            Ship hitShip = fleet[id];
+            hitShip.hit();
+
+            // Verificar si el barco se hundió
+            if (hitShip.isSunk()) {
+                markShipAsSunk(id);
+                remainingShips--;
+                return CellState.SUNK;
             }
+        }
+
+        return CellState.HIT;
+    }
+
 
-            return CellState.HIT;
+    /**
+     * Obtiene el id interno de un barco colocado en este tablero, o -1 si no lo está.
+     * La celda ancla del barco siempre pertenece a él, sin importar su orientación actual.
+     */
+    private int findShipId(Ship ship) {
+        if (!ship.isPlaced() || !BoardMasks.inBounds(ship.getRow(), ship.getCol())) {
+            return -1;
         }
+        int id = shipIds[BoardMasks.index(ship.getRow(), ship.getCol())] - 1;
+        return id >= 0 && fleet[id] == ship ? id : -1;
+    }
 
-        return CellState.EMPTY;
+    /**
+     * Escribe el mismo valor en la tabla de ids para cada celda activa de la máscara.
+     */
+    private void setShipIds(long lo, long hi, byte value) {
+        while (lo != 0) {
+            shipIds[Long.numberOfTrailingZeros(lo)] = value;
+            lo &= lo - 1;
+        }
+        while (hi != 0) {
+            shipIds[64 + Long.numberOfTrailingZeros(hi)] = value;
+            hi &= hi - 1;
+        }
     }
 
+    /**
+     * Actualiza el conteo de barcos colocados de un tipo y cuántos tipos están fuera de cuota.
+     */
+    private void updateTypeCount(ShipType type, int delta) {
+        if (type == null) {
+            return; // Barcos sin tipo no cuentan para la flota reglamentaria
+        }
+        int ordinal = type.ordinal();
+        boolean wasComplete = placedPerType[ordinal] == type.getQuantity();
+        placedPerType[ordinal] += delta;
+        boolean isComplete = placedPerType[ordinal] == type.getQuantity();
+
+        if (wasComplete && !isComplete) typesOutOfQuota++;
+        if (!wasComplete && isComplete) typesOutOfQuota--;
+    }
 
-    private Ship findShipAt(int row, int col) {
-        Position target = new Position(row, col);
-        for (Ship ship : ships) {
-            if (ship.occupiesPosition(target)) {
-                return ship;
+    private int nextFreeId() {
+        for (int id = 0; id < fleet.length; id++) {
+            if (fleet[id] == null) {
+                return id;
             }
         }
-        return null;
+        return -1;
     }
 
     /**
      * Marca todas las celdas de un barco como hundido
      */
-    private void markShipAsSunk(Ship ship) {
-        for (Position pos : ship.getPositions()) {
-            grid[pos.getRow()][pos.getCol()] = CellState.SUNK;
-        }
+    private void markShipAsSunk(int id) {
+        sunkLo |= fleetSpanLo[id];
+        sunkHi |= fleetSpanHi[id];
     }
 
     /**
      * Verifica si todos los barcos han sido hundidos
      */
     public boolean allShipsSunk() {
-        for (Ship ship : ships) {
-            if (!ship.isSunk()) {
-                return false;
-            }
-        }
-        return true;
+        return (shipLo & ~sunkLo) == 0 && (shipHi & ~sunkHi) == 0;
     }
 
+    /**
+     * Verifica si la flota colocada coincide exactamente con la flota reglamentaria
+     */
     public boolean allShipsPlaced() {
-        int totalShips = 0;
+        return typesOutOfQuota == 0;
+    }
 
-        for (ShipType type : ShipType.values()) {
-            int count = 0;
+    /**
+     * Coloca la flota reglamentaria completa en posiciones aleatorias legales
+     */
+    public void placeShipsRandom() {
+        placeShipsRandom(new GameRandom());
+    }
 
-            for (Ship ship : ships) {
-                if (ship.getType() == type) {
-                    count++;
-                }
-            }
+    /**
+     * Coloca la flota reglamentaria completa usando la fuente de aleatoriedad indicada
+     */
+    public void placeShipsRandom(RandomGenerator random) {
+        new FleetGenerator(random).populate(this);
+    }
 
-            if (count != type.getQuantity()) {
-                return false;
-            }
 
-            totalShips += count;
-        }
+    public CellState getCellState(int row, int col) {
+        int cell = BoardMasks.index(row, col);
+        if (BoardMasks.test(sunkLo, sunkHi, cell)) return CellState.SUNK;
+        if (BoardMasks.test(hitLo, hitHi, cell)) return CellState.HIT;
+        if (BoardMasks.test(shotLo, shotHi, cell)) return CellState.WATER;
+        if (BoardMasks.test(shipLo, shipHi, cell)) return CellState.SHIP;
+        return CellState.EMPTY;
+    }
 
-        return totalShips == ShipType.getTotalShips();
+    /**
+     * @return Copia inmutable del estado actual de las celdas
+     */
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(shipLo, shipHi, shotLo, shotHi, hitLo, hitHi, sunkLo, sunkHi);
     }
 
-    public void placeShipsRandom() {
-        for (ShipType type : ShipType.values()) {
-            for (int i = 0; i < type.getQuantity(); i++) {
+    public List<Ship> getShips() {
+        return new ArrayList<>(ships);
+    }
+
+    /**
+     * @return Cantidad de barcos colocados en el tablero
+     */
+    public int getShipCount() {
+        return ships.size();
+    }
 
-                boolean placed = false;
+    /**
+     * @return Cantidad de barcos colocados que siguen a flote
+     */
+    public int getRemainingShips() {
+        return remainingShips;
+    }
 
-                while (!placed) {
-                    int row = (int) (Math.random() * SIZE);
-                    int col = (int) (Math.random() * SIZE);
-                    boolean horizontal = Math.random() < 0.5;
+    /**
+     * @return Cantidad de barcos hundidos
+     */
+    public int getSunkShipCount() {
+        return ships.size() - remainingShips;
+    }
 
-                    Ship ship = new Ship(type, horizontal);
-                    placed = placeShip(ship, row, col);
-                }
+    /**
+     * @return Cantidad de barcos hundidos del tipo indicado
+     */
+    public int getSunkCount(ShipType type) {
+        int count = 0;
+        for (Ship ship : ships) {
+            if (ship.getType() == type && ship.isSunk()) {
+                count++;
             }
         }
+        return count;
     }
 
+    /**
+     * @return Barco que ocupa la celda indicada, o null si es agua
+     */
+    public Ship getShipAt(int row, int col) {
+        int id = shipIds[BoardMasks.index(row, col)] - 1;
+        return id >= 0 ? fleet[id] : null;
+    }
 
-    public CellState getCellState(int row, int col) {
-        return grid[row][col];
+    /**
+     * @return Cantidad de barcos colocados del tipo indicado
+     */
+    public int getPlacedCount(ShipType type) {
+        return placedPerType[type.ordinal()];
     }
 
-    public List<Ship> getShips() {
-        return new ArrayList<>(ships);
+    // Celdas no disponibles para colocar barcos (ocupadas o ya disparadas)
+    long getBlockedLo() {
+        return shipLo | shotLo;
+    }
+
+    long getBlockedHi() {
+        return shipHi | shotHi;
     }
 
     public int getSize() {
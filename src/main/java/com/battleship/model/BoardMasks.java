@@ -0,0 +1,172 @@
+package com.battleship.model;
+
+/**
+ * Utilidades para las máscaras de bits de 128 bits del tablero.
+ * <p>
+ * Cada celda (fila, columna) se empaqueta en un índice {@code fila * 10 + columna}.
+ * Una máscara se guarda en dos {@code long}: la parte baja contiene las celdas
+ * 0-63 y la parte alta las celdas 64-99.
+ * </p>
+ */
+public final class BoardMasks {
+
+    public static final int SIZE = 10;
+    public static final int CELL_COUNT = SIZE * SIZE;
+
+    // Máscaras precalculadas de las celdas que ocupa un barco: [tamaño][orientación][ancla]
+    private static final long[] SPAN_LO = new long[(SIZE + 1) * 2 * CELL_COUNT];
+    private static final long[] SPAN_HI = new long[(SIZE + 1) * 2 * CELL_COUNT];
+
+    // Anclas donde cabe un barco dentro del tablero: [tamaño][orientación]
+    private static final long[] FIT_LO = new long[(SIZE + 1) * 2];
+    private static final long[] FIT_HI = new long[(SIZE + 1) * 2];
+
+    static {
+        for (int size = 1; size <= SIZE; size++) {
+            for (int orientation = 0; orientation < 2; orientation++) {
+                boolean horizontal = orientation == 1;
+                for (int cell = 0; cell < CELL_COUNT; cell++) {
+                    int row = cell / SIZE;
+                    int col = cell % SIZE;
+                    if (!fits(size, horizontal, row, col)) continue;
+
+                    long lo = 0L;
+                    long hi = 0L;
+                    for (int i = 0; i < size; i++) {
+                        int target = horizontal ? cell + i : cell + i * SIZE;
+                        lo |= bitLo(target);
+                        hi |= bitHi(target);
+                    }
+                    int slot = spanSlot(size, horizontal, cell);
+                    SPAN_LO[slot] = lo;
+                    SPAN_HI[slot] = hi;
+                    FIT_LO[fitSlot(size, horizontal)] |= bitLo(cell);
+                    FIT_HI[fitSlot(size, horizontal)] |= bitHi(cell);
+                }
+            }
+        }
+    }
+
+    private BoardMasks() {} // Utility class
+
+    /**
+     * Índice de la celda (fila, columna)
+     *
+     * @throws IndexOutOfBoundsException Si la fila o la columna quedan fuera del tablero;
+     *                                   sin esta comprobación (-1, 5) sería la celda (0, 4)
+     */
+    public static int index(int row, int col) {
+        if (!inBounds(row, col)) {
+            throw new IndexOutOfBoundsException("Celda fuera del tablero: (" + row + ", " + col + ")");
+        }
+        return row * SIZE + col;
+    }
+
+    public static int row(int index) { return index / SIZE; }
+
+    public static int col(int index) { return index % SIZE; }
+
+    public static boolean inBounds(int row, int col) {
+        return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
+    }
+
+    /**
+     * Verifica si un barco de ese tamaño y orientación cabe dentro del tablero
+     * con su primera celda en (fila, columna).
+     */
+    public static boolean fits(int size, boolean horizontal, int row, int col) {
+        if (size < 1 || size > SIZE || !inBounds(row, col)) return false;
+        return horizontal ? col + size <= SIZE : row + size <= SIZE;
+    }
+
+    /**
+     * Parte baja de la máscara de celdas ocupadas por un barco anclado en {@code cell}.
+     * Devuelve 0 si el barco no cabe.
+     */
+    public static long spanLo(int size, boolean horizontal, int cell) {
+        return SPAN_LO[spanSlot(size, horizontal, cell)];
+    }
+
+    /**
+     * Parte alta de la máscara de celdas ocupadas por un barco anclado en {@code cell}.
+     * Devuelve 0 si el barco no cabe.
+     */
+    public static long spanHi(int size, boolean horizontal, int cell) {
+        return SPAN_HI[spanSlot(size, horizontal, cell)];
+    }
+
+    /**
+     * Calcula todas las anclas legales para un barco de ese tamaño y orientación:
+     * las que caben en el tablero y cuyas celdas no tocan ninguna celda bloqueada.
+     * El resultado se escribe en {@code out[0]} (parte baja) y {@code out[1]} (parte alta).
+     */
+    public static void legalAnchors(int size, boolean horizontal, long blockedLo, long blockedHi, long[] out) {
+        int slot = fitSlot(size, horizontal);
+        long freeLo = ~blockedLo;
+        long freeHi = ~blockedHi;
+        long lo = FIT_LO[slot] & freeLo;
+        long hi = FIT_HI[slot] & freeHi;
+
+        // Una ancla es legal si la celda situada k pasos más allá también está libre
+        int step = horizontal ? 1 : SIZE;
+        for (int k = 1; k < size && (lo | hi) != 0; k++) {
+            int shift = k * step;
+            lo &= shiftRightLo(freeLo, freeHi, shift);
+            hi &= shiftRightHi(freeHi, shift);
+        }
+        out[0] = lo;
+        out[1] = hi;
+    }
+
+    /**
+     * Índice de la celda correspondiente al bit activo número {@code k} (empezando en 0)
+     * de la máscara, o -1 si la máscara tiene menos de {@code k + 1} bits activos.
+     */
+    public static int selectBit(long lo, long hi, int k) {
+        int lowCount = Long.bitCount(lo);
+        if (k >= lowCount) {
+            k -= lowCount;
+            lo = hi;
+            if (k >= Long.bitCount(lo)) return -1;
+            return 64 + selectInLong(lo, k);
+        }
+        return selectInLong(lo, k);
+    }
+
+    public static int bitCount(long lo, long hi) {
+        return Long.bitCount(lo) + Long.bitCount(hi);
+    }
+
+    public static long bitLo(int cell) { return cell < 64 ? 1L << cell : 0L; }
+
+    public static long bitHi(int cell) { return cell >= 64 ? 1L << (cell - 64) : 0L; }
+
+    public static boolean test(long lo, long hi, int cell) {
+        return cell < 64 ? (lo & (1L << cell)) != 0 : (hi & (1L << (cell - 64))) != 0;
+    }
+
+    private static int selectInLong(long bits, int k) {
+        for (int i = 0; i < k; i++) {
+            bits &= bits - 1;
+        }
+        return Long.numberOfTrailingZeros(bits);
+    }
+
+    // Desplazamiento lógico a la derecha de una máscara de 128 bits (0 < shift < 128)
+    private static long shiftRightLo(long lo, long hi, int shift) {
+        if (shift >= 64) return hi >>> (shift - 64);
+        return (lo >>> shift) | (hi << (64 - shift));
+    }
+
+    private static long shiftRightHi(long hi, int shift) {
+        return shift >= 64 ? 0L : hi >>> shift;
+    }
+
+    private static int fitSlot(int size, boolean horizontal) {
+        return size * 2 + (horizontal ? 1 : 0);
+    }
+
+    private static int spanSlot(int size, boolean horizontal, int cell) {
+        return (size * 2 + (horizontal ? 1 : 0)) * CELL_COUNT + cell;
+    }
+}
@@ -0,0 +1,71 @@
+package com.battleship.model;
+
+/**
+ * Copia inmutable del estado visible de un tablero en un instante dado.
+ * <p>
+ * Son solo las cuatro máscaras de celdas, así que crearla es barato y puede pasarse
+ * entre hilos sin sincronización: la interfaz dibuja a partir de ella mientras el
+ * tablero original sigue cambiando en el hilo del juego.
+ * </p>
+ */
+public final class BoardSnapshot {
+
+    private final long shipLo, shipHi;
+    private final long shotLo, shotHi;
+    private final long hitLo, hitHi;
+    private final long sunkLo, sunkHi;
+
+    BoardSnapshot(long shipLo, long shipHi, long shotLo, long shotHi,
+                  long hitLo, long hitHi, long sunkLo, long sunkHi) {
+        this.shipLo = shipLo;
+        this.shipHi = shipHi;
+        this.shotLo = shotLo;
+        this.shotHi = shotHi;
+        this.hitLo = hitLo;
+        this.hitHi = hitHi;
+        this.sunkLo = sunkLo;
+        this.sunkHi = sunkHi;
+    }
+
+    /**
+     * Estado de la celda con las mismas reglas que {@link Board#getCellState(int, int)}
+     */
+    public CellState getCellState(int row, int col) {
+        int cell = BoardMasks.index(row, col);
+        if (BoardMasks.test(sunkLo, sunkHi, cell)) return CellState.SUNK;
+        if (BoardMasks.test(hitLo, hitHi, cell)) return CellState.HIT;
+        if (BoardMasks.test(shotLo, shotHi, cell)) return CellState.WATER;
+        if (BoardMasks.test(shipLo, shipHi, cell)) return CellState.SHIP;
+        return CellState.EMPTY;
+    }
+
+    /**
+     * Celdas cuyo estado puede haber cambiado respecto a otra instantánea del mismo
+     * tablero, como índices empaquetados en orden creciente. Son las celdas en las que
+     * difiere alguna de las cuatro máscaras; con {@code previous} null son todas.
+     */
+    public int[] changedCells(BoardSnapshot previous) {
+        long lo = -1L;                                          // Celdas 0-63
+        long hi = (1L << (BoardMasks.CELL_COUNT - 64)) - 1;     // Celdas 64-99
+        if (previous != null) {
+            lo = (shipLo ^ previous.shipLo) | (shotLo ^ previous.shotLo)
+                    | (hitLo ^ previous.hitLo) | (sunkLo ^ previous.sunkLo);
+            hi = (shipHi ^ previous.shipHi) | (shotHi ^ previous.shotHi)
+                    | (hitHi ^ previous.hitHi) | (sunkHi ^ previous.sunkHi);
+        }
+
+        int[] cells = new int[Long.bitCount(lo) + Long.bitCount(hi)];
+        int count = 0;
+        for (; lo != 0; lo &= lo - 1) {
+            cells[count++] = Long.numberOfTrailingZeros(lo);
+        }
+        for (; hi != 0; hi &= hi - 1) {
+            cells[count++] = 64 + Long.numberOfTrailingZeros(hi);
+        }
+        return cells;
+    }
+
+    public int getSize() {
+        return BoardMasks.SIZE;
+    }
+}
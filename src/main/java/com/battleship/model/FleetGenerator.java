@@ -0,0 +1,140 @@
+package com.battleship.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generador de flotas aleatorias guiado por restricciones.
+ * <p>
+ * En lugar de probar anclas al azar hasta que una encaje, calcula para cada barco la
+ * máscara de anclas legales (por orientación) según las celdas ya ocupadas, elige una
+ * colocación de forma uniforme entre todas las legales y retrocede si llega a un punto
+ * sin salida. Siempre devuelve una flota completa cuando existe alguna.
+ * </p>
+ * <p>
+ * Una instancia reutiliza sus arreglos de trabajo y no es segura entre hilos; cada hilo
+ * debe usar su propio generador.
+ * </p>
+ */
+public class FleetGenerator {
+
+    // Flota reglamentaria, de mayor a menor tamaño para reducir los retrocesos
+    private static final ShipType[] FLEET = buildFleet();
+
+    private final RandomGenerator random;
+
+    // Colocación elegida para cada barco de la flota
+    private final int[] anchors = new int[FLEET.length];
+    private final boolean[] horizontals = new boolean[FLEET.length];
+
+    // Máscaras de trabajo: [nivel][0 = horizontal lo, 1 = horizontal hi, 2 = vertical lo, 3 = vertical hi]
+    private final long[][] candidates = new long[FLEET.length][4];
+    private final long[] scratch = new long[2];
+
+    public FleetGenerator(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Coloca la flota reglamentaria completa en el tablero, respetando las celdas que ya
+     * estén ocupadas o disparadas.
+     *
+     * @throws IllegalStateException si la flota no cabe en el espacio libre del tablero
+     */
+    public void populate(Board board) {
+        if (!generate(board.getBlockedLo(), board.getBlockedHi())) {
+            throw new IllegalStateException("No hay espacio para colocar la flota completa");
+        }
+
+        for (int i = 0; i < FLEET.length; i++) {
+            Ship ship = new Ship(FLEET[i], horizontals[i]);
+            board.placeShip(ship, BoardMasks.row(anchors[i]), BoardMasks.col(anchors[i]));
+        }
+    }
+
+    /**
+     * Genera una colocación completa sobre las celdas libres de la máscara bloqueada,
+     * sin crear objetos. El resultado se consulta con {@link #getAnchor(int)} y
+     * {@link #isHorizontal(int)}.
+     *
+     * @return false si la flota no cabe
+     */
+    public boolean generate(long blockedLo, long blockedHi) {
+        return placeFrom(0, blockedLo, blockedHi);
+    }
+
+    public static int getFleetSize() { return FLEET.length; }
+
+    public static ShipType getFleetType(int i) { return FLEET[i]; }
+
+    public int getAnchor(int i) { return anchors[i]; }
+
+    public boolean isHorizontal(int i) { return horizontals[i]; }
+
+    /**
+     * Búsqueda en profundidad: elige al azar una colocación legal para el barco
+     * {@code depth} y continúa; si el resto no cabe, descarta esa colocación y prueba otra.
+     */
+    private boolean placeFrom(int depth, long blockedLo, long blockedHi) {
+        if (depth == FLEET.length) {
+            return true;
+        }
+
+        int size = FLEET[depth].getSize();
+        long[] legal = candidates[depth];
+
+        BoardMasks.legalAnchors(size, true, blockedLo, blockedHi, scratch);
+        legal[0] = scratch[0];
+        legal[1] = scratch[1];
+        if (size > 1) {
+            BoardMasks.legalAnchors(size, false, blockedLo, blockedHi, scratch);
+            legal[2] = scratch[0];
+            legal[3] = scratch[1];
+        } else {
+            legal[2] = 0L; // Un barco de una celda es igual en ambas orientaciones
+            legal[3] = 0L;
+        }
+
+        int horizontalCount = BoardMasks.bitCount(legal[0], legal[1]);
+        int total = horizontalCount + BoardMasks.bitCount(legal[2], legal[3]);
+
+        while (total > 0) {
+            int pick = random.nextInt(total);
+            boolean horizontal = pick < horizontalCount;
+            int anchor = horizontal
+                    ? BoardMasks.selectBit(legal[0], legal[1], pick)
+                    : BoardMasks.selectBit(legal[2], legal[3], pick - horizontalCount);
+
+            long spanLo = BoardMasks.spanLo(size, horizontal, anchor);
+            long spanHi = BoardMasks.spanHi(size, horizontal, anchor);
+
+            if (placeFrom(depth + 1, blockedLo | spanLo, blockedHi | spanHi)) {
+                anchors[depth] = anchor;
+                horizontals[depth] = horizontal;
+                return true;
+            }
+
+            // Punto sin salida: descartar esta colocación y volver a sortear
+            int offset = horizontal ? 0 : 2;
+            legal[offset] &= ~BoardMasks.bitLo(anchor);
+            legal[offset + 1] &= ~BoardMasks.bitHi(anchor);
+            if (horizontal) horizontalCount--;
+            total--;
+        }
+
+        return false;
+    }
+
+    private static ShipType[] buildFleet() {
+        ShipType[] fleet = new ShipType[ShipType.getTotalShips()];
+        int i = 0;
+        for (ShipType type : ShipType.values()) {
+            for (int n = 0; n < type.getQuantity(); n++) {
+                fleet[i++] = type;
+            }
+        }
+        Arrays.sort(fleet, Comparator.comparingInt(ShipType::getSize).reversed());
+        return fleet;
+    }
+}
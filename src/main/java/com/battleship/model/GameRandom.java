@@ -0,0 +1,89 @@
+package com.battleship.model;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fuente de aleatoriedad de una partida.
+ * <p>
+ * Todas las decisiones aleatorias del juego (flotas, disparos de la IA) pasan por una
+ * instancia de esta clase, creada a partir de una semilla propia de la partida. Con la
+ * misma semilla y las mismas jugadas la partida se reproduce exactamente.
+ * </p>
+ * <p>
+ * No es segura entre hilos: cada hilo debe trabajar con su propia copia obtenida con
+ * {@link #fork(long)} o {@link #split()}, de modo que no hay un generador compartido
+ * por el que compitan.
+ * </p>
+ */
+public final class GameRandom implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    /**
+     * Crea un generador con una semilla nueva, distinta en cada llamada
+     */
+    public GameRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Deriva un generador independiente para el flujo indicado. El resultado depende solo
+     * de la semilla y del identificador, no de cuántos números se hayan consumido, así que
+     * varios hilos pueden derivar sus flujos en cualquier orden y seguir siendo reproducibles.
+     */
+    public GameRandom fork(long streamId) {
+        return new GameRandom(mix64(seed + (streamId + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Divide el generador consumiendo un valor de esta secuencia
+     */
+    public GameRandom split() {
+        return new GameRandom(random.nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    // Función de mezcla de SplitMix64
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
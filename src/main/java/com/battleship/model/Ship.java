@@ -2,11 +2,21 @@ package com.battleship.model;
 
 import javafx.scene.paint.Color;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.io.Serializable;
 
+/**
+ * Barco de la flota.
+ * <p>
+ * La geometría se guarda de forma primitiva (ancla, orientación y tamaño): la pertenencia
+ * de una celda se calcula aritméticamente y las celdas se recorren por índice empaquetado
+ * con {@link #getCellIndex(int)}, sin crear objetos. La lista de {@link Position} solo se
+ * construye si alguien la pide.
+ * </p>
+ */
 public class Ship implements Serializable {
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     private ShipType type;
     private int size;
@@ -15,8 +25,8 @@ public class Ship implements Serializable {
     private boolean horizontal;
     private int hits;
 
-    // Posiciones que ocupa el barco en el tablero
-    private List<Position> positions = new ArrayList<>();
+    // Vista de compatibilidad, construida bajo demanda a partir de la geometría
+    private transient List<Position> positions;
 
     // Constructor que acepta ShipType y orientación
     public Ship(ShipType type, boolean horizontal) {
@@ -46,15 +56,15 @@ public class Ship implements Serializable {
 
     public int getRow() { return row; }
 
-    public void setRow(int row) { this.row = row; }
+    public void setRow(int row) { this.row = row; this.positions = null; }
 
     public int getCol() { return col; }
 
-    public void setCol(int col) { this.col = col; }
+    public void setCol(int col) { this.col = col; this.positions = null; }
 
     public boolean isHorizontal() { return horizontal; }
 
-    public void setHorizontal(boolean horizontal) { this.horizontal = horizontal; }
+    public void setHorizontal(boolean horizontal) { this.horizontal = horizontal; this.positions = null; }
 
     public void hit() { hits++; }
 
@@ -67,39 +77,63 @@ public class Ship implements Serializable {
     public void setPosition(int row, int col) {
         this.row = row;
         this.col = col;
+        this.positions = null;
     }
 
     public boolean isPlaced() { return row >= 0 && col >= 0; }
 
     // ----- Integración con Board -----
 
-    // Calcula y guarda las posiciones que ocupa el barco
+    // Guarda el ancla del barco; las celdas se derivan de la orientación y el tamaño
     public void setPositions(int startRow, int startCol) {
-        positions.clear();
-        this.row = startRow;
-        this.col = startCol;
+        setPosition(startRow, startCol);
+    }
 
-        if (horizontal) {
-            for (int i = 0; i < size; i++) {
-                positions.add(new Position(startRow, startCol + i));
-            }
-        } else {
-            for (int i = 0; i < size; i++) {
-                positions.add(new Position(startRow + i, startCol));
-            }
-        }
+    /**
+     * Índice empaquetado ({@code fila * 10 + columna}) de la celda {@code i} del barco,
+     * con {@code 0 <= i < getSize()}. Permite recorrer el barco sin crear objetos.
+     */
+    public int getCellIndex(int i) {
+        return horizontal
+                ? BoardMasks.index(row, col + i)
+                : BoardMasks.index(row + i, col);
+    }
+
+    /**
+     * @return Índice empaquetado de la celda ancla, o -1 si el barco no está colocado
+     */
+    public int getAnchorIndex() {
+        return isPlaced() ? BoardMasks.index(row, col) : -1;
     }
 
+    /**
+     * Posiciones que ocupa el barco. Es una vista de solo lectura que se construye
+     * la primera vez que se pide tras cada cambio de geometría.
+     */
     public List<Position> getPositions() {
+        if (positions == null) {
+            if (!isPlaced()) {
+                positions = Collections.emptyList();
+            } else {
+                List<Position> cells = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    cells.add(horizontal ? new Position(row, col + i) : new Position(row + i, col));
+                }
+                positions = Collections.unmodifiableList(cells);
+            }
+        }
         return positions;
     }
 
-    public boolean occupiesPosition(Position target) {
-        for (Position pos : positions) {
-            if (pos.getRow() == target.getRow() && pos.getCol() == target.getCol()) {
-                return true;
-            }
+    public boolean occupies(int targetRow, int targetCol) {
+        if (!isPlaced()) return false;
+        if (horizontal) {
+            return targetRow == row && targetCol >= col && targetCol < col + size;
         }
-        return false;
+        return targetCol == col && targetRow >= row && targetRow < row + size;
+    }
+
+    public boolean occupiesPosition(Position target) {
+        return occupies(target.getRow(), target.getCol());
     }
 }
@@ -7,6 +7,8 @@ public enum ShipType {
     DESTRUCTOR("Destructor", 2, 3),
     FRAGATA("Fragata", 1, 4);
 
+    private static final int TOTAL_SHIPS = computeTotalShips();
+
     private final String name;
     private final int size;
     private final int quantity;
@@ -25,6 +27,10 @@ public enum ShipType {
      * @return Total de barcos en el juego (10)
      */
     public static int getTotalShips() {
+        return TOTAL_SHIPS;
+    }
+
+    private static int computeTotalShips() {
         int total = 0;
         for (ShipType type : values()) {
             total += type.quantity;
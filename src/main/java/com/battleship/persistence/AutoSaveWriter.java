@@ -0,0 +1,135 @@
+package com.battleship.persistence;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Escritor de guardados en segundo plano.
+ * <p>
+ * Recibe el contenido ya codificado de los archivos y lo escribe desde un único hilo
+ * propio. Si llegan varios guardados mientras hay una escritura en curso, solo se
+ * escribe el último: una racha de disparos acaba en una sola escritura con el estado
+ * más reciente. Cada archivo se escribe primero en un temporal y luego se renombra de
+ * forma atómica, así que un corte a mitad de escritura nunca deja un guardado a medias.
+ * </p>
+ */
+class AutoSaveWriter {
+
+    private static final Logger LOGGER = Logger.getLogger(AutoSaveWriter.class.getName());
+
+    /**
+     * Contenido de todos los archivos de un guardado
+     */
+    static final class Snapshot {
+        final Path[] paths;
+        final byte[][] contents;
+
+        // Copia opcional de la partida en el almacén de partidas del capitán
+        final SaveStore store;
+        final String nickname;
+        final byte[] game;
+
+        // Archivos que sobran una vez escrito este guardado, como el diario de una partida terminada
+        final Path[] obsolete;
+
+        Snapshot(Path[] paths, byte[][] contents) {
+            this(paths, contents, null, null, null, new Path[0]);
+        }
+
+        Snapshot(Path[] paths, byte[][] contents, SaveStore store, String nickname, byte[] game,
+                 Path[] obsolete) {
+            this.paths = paths;
+            this.contents = contents;
+            this.store = store;
+            this.nickname = nickname;
+            this.game = game;
+            this.obsolete = obsolete;
+        }
+    }
+
+    private final AtomicReference<Snapshot> pending = new AtomicReference<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "autosave-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Programa la escritura, reemplazando a cualquier guardado que aún no se haya escrito
+     */
+    void submit(Snapshot snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Espera a que se escriban los guardados pendientes
+     */
+    void flush(long timeoutMillis) {
+        try {
+            executor.submit(() -> { }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.log(Level.WARNING, "No se pudieron escribir todos los guardados pendientes", e);
+        }
+    }
+
+    private void drain() {
+        Snapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        boolean written = true;
+        for (int i = 0; i < snapshot.paths.length; i++) {
+            try {
+                writeAtomically(snapshot.paths[i], snapshot.contents[i]);
+            } catch (IOException e) {
+                written = false;
+                LOGGER.log(Level.SEVERE, "Error al escribir " + snapshot.paths[i], e);
+            }
+        }
+        if (snapshot.store != null) {
+            try {
+                snapshot.store.put(snapshot.nickname, snapshot.game);
+            } catch (IOException e) {
+                written = false;
+                LOGGER.log(Level.SEVERE, "Error al guardar en el almacén de partidas", e);
+            }
+        }
+        // Si algo falló se conservan: sin ellos el guardado anterior no estaría completo
+        for (int i = 0; written && i < snapshot.obsolete.length; i++) {
+            try {
+                Files.deleteIfExists(snapshot.obsolete[i]);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "No se pudo eliminar " + snapshot.obsolete[i], e);
+            }
+        }
+        LOGGER.info("Juego guardado exitosamente");
+    }
+
+    /**
+     * Escribe en un temporal junto al destino y lo renombra sobre él
+     */
+    static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, content);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
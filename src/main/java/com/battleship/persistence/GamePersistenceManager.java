@@ -1,8 +1,17 @@
 package com.battleship.persistence;
 
+import com.battleship.engine.GameEngine;
+import com.battleship.engine.ShotEvent;
+import com.battleship.engine.Shooter;
 import com.battleship.exceptions.*;
+import com.battleship.model.BoardMasks;
+import com.battleship.model.CellState;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,8 +26,30 @@ public class GamePersistenceManager {
 
     // Rutas de los archivos
     private static final String SAVE_DIRECTORY = "saves/";
-    private static final String GAME_STATE_FILE = SAVE_DIRECTORY + "battleship_game.ser";
-    private static final String PLAYER_DATA_FILE = SAVE_DIRECTORY + "player_data.txt";
+    private static final String GAME_STATE_FILE = SAVE_DIRECTORY + "battleship_game.bin";
+    private static final String LEGACY_GAME_STATE_FILE = SAVE_DIRECTORY + "battleship_game.ser"; // Serialización de Java
+    private static final String PLAYER_DATA_FILE = SAVE_DIRECTORY + "player_data.txt"; // Anterior a los perfiles
+    private static final String PROFILES_FILE = SAVE_DIRECTORY + "profiles.dat";
+    private static final String JOURNAL_DIRECTORY = SAVE_DIRECTORY + "journals/"; // Un diario por partida
+    private static final String LEGACY_JOURNAL_FILE = SAVE_DIRECTORY + "battleship_game.journal"; // Diario único anterior
+    private static final String STORE_DIRECTORY = SAVE_DIRECTORY + "store/";
+    private static final String REPLAY_FILE = SAVE_DIRECTORY + "replays.dat";
+    private static final String REPLAY_INDEX_FILE = SAVE_DIRECTORY + "replays.idx";
+
+    // Cada cuántas jugadas se toma una instantánea completa además del diario
+    private static final int SNAPSHOT_INTERVAL = 20;
+
+    // Tiempo máximo de espera al vaciar los guardados pendientes al salir
+    private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+
+    private final AutoSaveWriter autoSaveWriter = new AutoSaveWriter();
+    private final ShotJournal journal = new ShotJournal(Paths.get(JOURNAL_DIRECTORY));
+    private final SaveStore saveStore = new SaveStore(Paths.get(STORE_DIRECTORY));
+    private final ProfileStore profileStore = new ProfileStore(Paths.get(PROFILES_FILE));
+    private final ReplayArchive replayArchive =
+            new ReplayArchive(Paths.get(REPLAY_FILE), Paths.get(REPLAY_INDEX_FILE));
+    private final Leaderboard leaderboard = new Leaderboard();
+    private volatile boolean leaderboardLoaded;
 
     /**
      * Constructor privado para Singleton
@@ -76,73 +107,245 @@ public class GamePersistenceManager {
         gameState.updateLastSaved();
         playerData.updateLastPlayed();
 
-        // Guardar estado del juego (serializado)
-        saveGameState(gameState);
-
-        // Guardar datos del jugador (texto plano)
-        savePlayerData(playerData);
+        // Guardar estado del juego (serializado). Las estadísticas del jugador van a su
+        // perfil al terminar cada partida, ver recordGameResult
+        byte[] game = encodeGameState(gameState);
+        write(GAME_STATE_FILE, game);
+
+        // Copia en el almacén, entre las partidas del capitán
+        if (hasNickname(playerData)) {
+            try {
+                saveStore.put(playerData.getNickname(), game);
+            } catch (IOException e) {
+                throw new SaveGameException(
+                        "Error al guardar en el almacén de partidas",
+                        e,
+                        SaveGameException.ErrorType.FILE_NOT_WRITABLE,
+                        STORE_DIRECTORY
+                );
+            }
+        }
 
         LOGGER.info("Juego guardado exitosamente");
     }
 
     /**
-     * Guarda el estado del juego en archivo serializado
+     * Guarda el juego sin esperar al disco.
+     * <p>
+     * El estado se codifica en el hilo que llama, de modo que lo que se guarda es el
+     * estado de este instante aunque siga cambiando después; la escritura la hace el
+     * {@link AutoSaveWriter} en segundo plano, agrupando los guardados seguidos.
+     * </p>
+     *
+     * @throws SaveGameException Si el estado no se puede codificar
+     */
+    public void saveGameAsync(GameState gameState, PlayerData playerData) throws SaveGameException {
+        if (gameState == null || playerData == null) {
+            throw new SaveGameException("GameState y PlayerData no pueden ser null",
+                    SaveGameException.ErrorType.UNKNOWN, GAME_STATE_FILE);
+        }
+
+        submitSnapshot(gameState, playerData, new Path[0]);
+    }
+
+    /**
+     * Programa la instantánea y el borrado de los archivos que dejará obsoletos
      */
-    private void saveGameState(GameState gameState) throws SaveGameException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(GAME_STATE_FILE))) {
+    private void submitSnapshot(GameState gameState, PlayerData playerData, Path[] obsolete)
+            throws SaveGameException {
+        gameState.updateLastSaved();
+        playerData.updateLastPlayed();
 
-            oos.writeObject(gameState);
-            LOGGER.info("Estado del juego guardado en: " + GAME_STATE_FILE);
+        byte[] game = encodeGameState(gameState);
+        autoSaveWriter.submit(new AutoSaveWriter.Snapshot(
+                new Path[] {Paths.get(GAME_STATE_FILE)},
+                new byte[][] {game},
+                hasNickname(playerData) ? saveStore : null, playerData.getNickname(), game,
+                obsolete));
+    }
+
+    private static boolean hasNickname(PlayerData playerData) {
+        return playerData.getNickname() != null && !playerData.getNickname().isBlank();
+    }
 
-        } catch (NotSerializableException e) {
+    /**
+     * Registra un disparo ya aplicado al estado.
+     * <p>
+     * Solo añade unos bytes al diario de disparos; la instantánea completa se guarda cada
+     * {@value #SNAPSHOT_INTERVAL} jugadas, al terminar la partida o cuando hay que empezar
+     * un diario nuevo. Si el programa se cierra de golpe se pierde como mucho el disparo
+     * que se estaba escribiendo. La instantánea final de una partida terminada ya lo
+     * contiene todo, así que su diario se borra en cuanto está escrita.
+     * </p>
+     *
+     * @param enemy true si disparó el enemigo
+     * @throws SaveGameException Si no se puede escribir el diario o codificar la instantánea
+     */
+    public void recordShot(GameState gameState, PlayerData playerData, boolean enemy,
+                           int row, int col, CellState result) throws SaveGameException {
+        int moves = gameState.getTotalPlayerShots() + gameState.getTotalEnemyShots();
+        boolean snapshot;
+        try {
+            boolean fresh = journal.open(gameState.getGameId(), moves - 1);
+            journal.append(enemy, BoardMasks.index(row, col), result);
+            snapshot = fresh || moves % SNAPSHOT_INTERVAL == 0 || gameState.isGameOver();
+        } catch (IOException e) {
             throw new SaveGameException(
-                    "El estado del juego contiene objetos no serializables",
+                    "Error al escribir el diario de disparos",
                     e,
-                    SaveGameException.ErrorType.SERIALIZATION_ERROR,
-                    GAME_STATE_FILE
+                    SaveGameException.ErrorType.FILE_NOT_WRITABLE,
+                    journal.pathFor(gameState.getGameId()).toString()
             );
+        }
+
+        if (gameState.isGameOver()) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error al cerrar el diario de disparos", e);
+            }
+            submitSnapshot(gameState, playerData, new Path[] {journal.pathFor(gameState.getGameId())});
+            archiveReplay(gameState, playerData);
+        } else if (snapshot) {
+            saveGameAsync(gameState, playerData);
+        }
+    }
+
+    // Las partidas cargadas de un .ser no tienen registro de jugadas y no se archivan
+    private void archiveReplay(GameState gameState, PlayerData playerData) {
+        if (!gameState.hasCompleteMoveLog()) {
+            return;
+        }
+        try {
+            replayArchive.append(gameState, playerData.getNickname());
         } catch (IOException e) {
-            // Determinar el tipo de error específico
-            SaveGameException.ErrorType errorType =
-                    e.getMessage().contains("Permission denied")
-                            ? SaveGameException.ErrorType.PERMISSION_DENIED
-                            : SaveGameException.ErrorType.FILE_NOT_WRITABLE;
+            LOGGER.log(Level.WARNING, "No se pudo archivar la repetición de la partida", e);
+        }
+    }
+
+    /**
+     * Espera a que terminen los guardados en segundo plano. Debe llamarse al salir.
+     */
+    public void flush() {
+        autoSaveWriter.flush(FLUSH_TIMEOUT_MILLIS);
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error al cerrar el diario de disparos", e);
+        }
+        try {
+            saveStore.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error al cerrar el almacén de partidas", e);
+        }
+        try {
+            profileStore.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error al cerrar los perfiles", e);
+        }
+        try {
+            replayArchive.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error al cerrar el archivo de repeticiones", e);
+        }
+    }
 
+    /**
+     * Suma el resultado de una partida terminada al perfil del capitán. Solo se
+     * reescribe el registro de ese capitán, y los contadores de {@code playerData}
+     * quedan con los valores guardados.
+     *
+     * @param won            true si ganó el jugador
+     * @param shipsDestroyed Barcos enemigos hundidos por el jugador
+     * @param shipsLost      Barcos del jugador hundidos por el enemigo
+     * @throws SaveGameException Si no se puede escribir el perfil
+     */
+    public void recordGameResult(PlayerData playerData, boolean won, int shipsDestroyed, int shipsLost)
+            throws SaveGameException {
+        PlayerData profile;
+        try {
+            profile = profileStore.recordGame(playerData.getNickname(), won, shipsDestroyed, shipsLost);
+        } catch (IOException e) {
             throw new SaveGameException(
-                    "Error al guardar el estado del juego",
+                    "Error al actualizar el perfil del jugador",
                     e,
-                    errorType,
-                    GAME_STATE_FILE
+                    SaveGameException.ErrorType.FILE_NOT_WRITABLE,
+                    PROFILES_FILE
             );
         }
+        playerData.setGamesPlayed(profile.getGamesPlayed());
+        playerData.setGamesWon(profile.getGamesWon());
+        playerData.setGamesLost(profile.getGamesLost());
+        playerData.setPlayerShipsDestroyed(profile.getPlayerShipsDestroyed());
+        playerData.setEnemyShipsDestroyed(profile.getEnemyShipsDestroyed());
+        playerData.setLastPlayed(profile.getLastPlayed());
+        leaderboard.update(profile);
     }
 
     /**
-     * Guarda los datos del jugador en archivo de texto plano
+     * Clasificación de todos los capitanes. La primera llamada la llena recorriendo los
+     * perfiles una vez; después se mantiene con cada resultado de {@link #recordGameResult}.
+     *
+     * @throws LoadGameException Si el archivo de perfiles no se puede leer
+     */
+    public Leaderboard getLeaderboard() throws LoadGameException {
+        if (!leaderboardLoaded) {
+            synchronized (leaderboard) {
+                if (!leaderboardLoaded) {
+                    try {
+                        // Los resultados que lleguen a la vez solo pueden ser más nuevos
+                        profileStore.forEach(leaderboard::update);
+                    } catch (IOException e) {
+                        throw new LoadGameException(
+                                "Error al leer el archivo de perfiles",
+                                e,
+                                LoadGameException.ErrorType.FILE_CORRUPTED,
+                                PROFILES_FILE
+                        );
+                    }
+                    leaderboardLoaded = true;
+                }
+            }
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Codifica el estado del juego en el formato binario compacto
      */
-    private void savePlayerData(PlayerData playerData) throws SaveGameException {
+    private byte[] encodeGameState(GameState gameState) throws SaveGameException {
         try {
-            String content = playerData.toPlainText();
-            Files.write(
-                    Paths.get(PLAYER_DATA_FILE),
-                    content.getBytes(),
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING
+            return GameStateCodec.encode(gameState);
+        } catch (RuntimeException e) {
+            throw new SaveGameException(
+                    "Error al codificar el estado del juego",
+                    e,
+                    SaveGameException.ErrorType.SERIALIZATION_ERROR,
+                    GAME_STATE_FILE
             );
-            LOGGER.info("Datos del jugador guardados en: " + PLAYER_DATA_FILE);
+        }
+    }
+
+    /**
+     * Escribe un archivo de guardado de forma atómica (temporal + renombrado)
+     */
+    private void write(String file, byte[] content) throws SaveGameException {
+        try {
+            AutoSaveWriter.writeAtomically(Paths.get(file), content);
+            LOGGER.info("Archivo guardado: " + file);
 
         } catch (IOException e) {
+            // Determinar el tipo de error específico
             SaveGameException.ErrorType errorType =
-                    e.getMessage().contains("Permission denied")
+                    String.valueOf(e.getMessage()).contains("Permission denied")
                             ? SaveGameException.ErrorType.PERMISSION_DENIED
                             : SaveGameException.ErrorType.FILE_NOT_WRITABLE;
 
             throw new SaveGameException(
-                    "Error al guardar los datos del jugador",
+                    "Error al guardar " + file,
                     e,
                     errorType,
-                    PLAYER_DATA_FILE
+                    file
             );
         }
     }
@@ -164,20 +367,15 @@ public class GamePersistenceManager {
             );
         }
 
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(GAME_STATE_FILE))) {
-
-            Object obj = ois.readObject();
+        // Las partidas anteriores al formato binario siguen pudiendo cargarse
+        boolean legacy = !Files.exists(Paths.get(GAME_STATE_FILE));
+        String file = legacy ? LEGACY_GAME_STATE_FILE : GAME_STATE_FILE;
 
-            if (!(obj instanceof GameState)) {
-                throw new LoadGameException(
-                        "El archivo no contiene un GameState válido",
-                        LoadGameException.ErrorType.INVALID_FORMAT,
-                        GAME_STATE_FILE
-                );
-            }
-
-            GameState gameState = (GameState) obj;
+        try {
+            GameState gameState = legacy
+                    ? readLegacyGameState()
+                    : GameStateCodec.decode(Files.readAllBytes(Paths.get(file)));
+            replayJournal(gameState);
             LOGGER.info("Estado del juego cargado exitosamente");
 
             // Validar integridad básica
@@ -186,6 +384,64 @@ public class GamePersistenceManager {
             return gameState;
 
         } catch (InvalidClassException | ClassNotFoundException e) {
+            throw new LoadGameException(
+                    "Versión incompatible del archivo guardado",
+                    e,
+                    LoadGameException.ErrorType.VERSION_MISMATCH,
+                    file
+            );
+        } catch (StreamCorruptedException e) {
+            throw new LoadGameException(
+                    "El archivo de guardado está corrupto",
+                    e,
+                    LoadGameException.ErrorType.FILE_CORRUPTED,
+                    file
+            );
+        } catch (IOException e) {
+            throw new LoadGameException(
+                    "Error al leer el archivo de guardado",
+                    e,
+                    LoadGameException.ErrorType.DESERIALIZATION_ERROR,
+                    file
+            );
+        } catch (InvalidGameStateException e) {
+            throw new LoadGameException(
+                    "El estado del juego cargado es inválido: " + e.getMessage(),
+                    e,
+                    LoadGameException.ErrorType.INVALID_FORMAT,
+                    file
+            );
+        }
+    }
+
+    /**
+     * Lee solo los metadatos de la partida guardada (id, fecha, turno, contadores) sin
+     * decodificar los tableros ni repetir el diario: basta con los primeros
+     * {@value GameStateCodec#HEADER_SIZE} bytes del archivo y la cola del diario.
+     * Los guardados antiguos (versión 1 o serialización de Java) se cargan completos.
+     *
+     * @return Cabecera de la partida guardada
+     * @throws LoadGameException Si no existe partida guardada o la cabecera es ilegible
+     */
+    public SaveHeader readSaveHeader() throws LoadGameException {
+        if (!Files.exists(Paths.get(GAME_STATE_FILE))) {
+            return SaveHeader.of(loadGameState());
+        }
+
+        SaveHeader header;
+        try (FileChannel channel = FileChannel.open(Paths.get(GAME_STATE_FILE), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(GameStateCodec.HEADER_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Leer hasta completar la cabecera o llegar al final
+            }
+            buffer.flip();
+            if (buffer.remaining() > 4 && buffer.get(4) == 1) {
+                // Formato de longitud variable: no hay cabecera fija que leer
+                return SaveHeader.of(loadGameState());
+            }
+            header = GameStateCodec.readHeader(buffer);
+
+        } catch (InvalidClassException e) {
             throw new LoadGameException(
                     "Versión incompatible del archivo guardado",
                     e,
@@ -206,12 +462,340 @@ public class GamePersistenceManager {
                     LoadGameException.ErrorType.DESERIALIZATION_ERROR,
                     GAME_STATE_FILE
             );
+        }
+
+        try {
+            return applyJournalTail(header);
+        } catch (IOException e) {
+            // El diario solo adelanta el progreso; la instantánea sigue siendo válida
+            LOGGER.log(Level.WARNING, "No se pudo leer el diario de disparos", e);
+            return header;
+        }
+    }
+
+    /**
+     * Actualiza turno y contadores de la cabecera con los disparos del diario posteriores
+     * a la instantánea, sin tocar los tableros. El último disparo decide el turno: el
+     * agua lo pasa al rival y el acierto lo conserva.
+     */
+    private SaveHeader applyJournalTail(SaveHeader header) throws IOException {
+        if (header.isGameOver()) {
+            return header;
+        }
+        ShotJournal.Contents contents = readJournal(header.getGameId());
+        if (contents == null) {
+            return header;
+        }
+
+        int playerShots = header.getTotalPlayerShots();
+        int enemyShots = header.getTotalEnemyShots();
+        int playerHits = header.getPlayerHits();
+        int enemyHits = header.getEnemyHits();
+        boolean playerTurn = header.isPlayerTurn();
+
+        for (int i = 0; i < contents.records.size(); i++) {
+            int move = contents.baseMove + i;
+            int current = playerShots + enemyShots;
+            if (move < current) continue;  // Ya incluido en la instantánea
+            if (move > current) break;     // Falta una jugada intermedia
+
+            ShotJournal.Record record = contents.records.get(i);
+            if (record.enemy == playerTurn) break;  // No encaja con el turno
+            boolean hit = record.result != CellState.WATER;
+            if (record.enemy) {
+                enemyShots++;
+                if (hit) enemyHits++;
+            } else {
+                playerShots++;
+                if (hit) playerHits++;
+            }
+            if (!hit) playerTurn = !playerTurn;
+        }
+
+        return header.withProgress(playerTurn ? "PLAYER" : "ENEMY", playerShots, enemyShots, playerHits, enemyHits);
+    }
+
+    // ============== ALMACÉN DE PARTIDAS ==============
+
+    /**
+     * Indica si la última partida guardada es de un guardado anterior al almacén y del
+     * capitán indicado.
+     * <p>
+     * Ese archivo guarda la última partida de quien jugase por última vez, así que solo
+     * se ofrece a su dueño cuando la partida no llegó al almacén, y el dueño se sabe por
+     * el archivo de datos del jugador de entonces. Las partidas guardadas ya con el
+     * almacén se cargan desde él.
+     * </p>
+     */
+    public boolean hasLegacySaveOf(String nickname) {
+        if (!hasSavedGame() || !hasPlayerData()) {
+            return false;
+        }
+        try {
+            if (!nickname.equals(loadPlayerData().getNickname())) {
+                return false;
+            }
+            return !saveStore.contains(readSaveHeader().getGameId());
+        } catch (LoadGameException | IOException e) {
+            LOGGER.log(Level.WARNING, "No se pudo comprobar el guardado anterior al almacén", e);
+            return false;
+        }
+    }
+
+    /**
+     * Partidas guardadas de un capitán, de la más reciente a la más antigua. Solo lee el
+     * índice del almacén, no las partidas.
+     *
+     * @throws LoadGameException Si el índice del almacén no se puede leer
+     */
+    public List<SaveSlot> listSaves(String nickname) throws LoadGameException {
+        if (nickname == null || nickname.isBlank()) {
+            return Collections.emptyList();
+        }
+        try {
+            return saveStore.list(nickname);
+        } catch (IOException e) {
+            throw new LoadGameException(
+                    "Error al leer el índice de partidas",
+                    e,
+                    e instanceof InvalidClassException
+                            ? LoadGameException.ErrorType.VERSION_MISMATCH
+                            : LoadGameException.ErrorType.FILE_CORRUPTED,
+                    STORE_DIRECTORY
+            );
+        }
+    }
+
+    /**
+     * Cabecera de una partida del almacén con el progreso del diario aplicado
+     */
+    public SaveHeader readSaveHeader(SaveSlot slot) {
+        try {
+            return applyJournalTail(slot.getHeader());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "No se pudo leer el diario de disparos", e);
+            return slot.getHeader();
+        }
+    }
+
+    /**
+     * Carga una partida del almacén, con los disparos del diario posteriores a ella.
+     *
+     * @throws LoadGameException Si la partida ya no existe o está dañada
+     */
+    public GameState loadGameState(SaveSlot slot) throws LoadGameException {
+        try {
+            GameState gameState = GameStateCodec.decode(saveStore.read(slot));
+            replayJournal(gameState);
+            validateGameState(gameState);
+            LOGGER.info("Partida " + slot.getGameId() + " cargada del almacén");
+            return gameState;
+
+        } catch (FileNotFoundException e) {
+            throw new LoadGameException(
+                    "La partida ya no existe",
+                    e,
+                    LoadGameException.ErrorType.FILE_NOT_FOUND,
+                    STORE_DIRECTORY
+            );
+        } catch (InvalidClassException e) {
+            throw new LoadGameException(
+                    "Versión incompatible de la partida guardada",
+                    e,
+                    LoadGameException.ErrorType.VERSION_MISMATCH,
+                    STORE_DIRECTORY
+            );
+        } catch (StreamCorruptedException e) {
+            throw new LoadGameException(
+                    "La partida guardada está corrupta",
+                    e,
+                    LoadGameException.ErrorType.FILE_CORRUPTED,
+                    STORE_DIRECTORY
+            );
+        } catch (IOException e) {
+            throw new LoadGameException(
+                    "Error al leer la partida guardada",
+                    e,
+                    LoadGameException.ErrorType.DESERIALIZATION_ERROR,
+                    STORE_DIRECTORY
+            );
         } catch (InvalidGameStateException e) {
             throw new LoadGameException(
                     "El estado del juego cargado es inválido: " + e.getMessage(),
                     e,
                     LoadGameException.ErrorType.INVALID_FORMAT,
-                    GAME_STATE_FILE
+                    STORE_DIRECTORY
+            );
+        }
+    }
+
+    /**
+     * Número de partidas terminadas con repetición guardada
+     *
+     * @throws LoadGameException Si el índice de repeticiones no se puede leer
+     */
+    public int getReplayCount() throws LoadGameException {
+        try {
+            return replayArchive.size();
+        } catch (IOException e) {
+            throw replayError("Error al leer el índice de repeticiones", e);
+        }
+    }
+
+    /**
+     * Abre la repetición número {@code index}, de 0 a {@link #getReplayCount()} - 1
+     *
+     * @throws LoadGameException Si la repetición no existe o está dañada
+     */
+    public Replay loadReplay(int index) throws LoadGameException {
+        try {
+            return replayArchive.open(index);
+        } catch (IndexOutOfBoundsException e) {
+            throw new LoadGameException(
+                    "La repetición no existe",
+                    e,
+                    LoadGameException.ErrorType.FILE_NOT_FOUND,
+                    REPLAY_INDEX_FILE
+            );
+        } catch (IOException e) {
+            throw replayError("Error al leer la repetición", e);
+        }
+    }
+
+    /**
+     * Repetición más reciente de una partida, o null si no se archivó
+     *
+     * @throws LoadGameException Si el archivo de repeticiones no se puede leer
+     */
+    public Replay findReplay(String gameId) throws LoadGameException {
+        if (gameId == null) {
+            return null;
+        }
+        try {
+            int index = replayArchive.find(gameId);
+            return index < 0 ? null : replayArchive.open(index);
+        } catch (IOException e) {
+            throw replayError("Error al leer la repetición", e);
+        }
+    }
+
+    private static LoadGameException replayError(String message, IOException e) {
+        return new LoadGameException(
+                message,
+                e,
+                e instanceof StreamCorruptedException
+                        ? LoadGameException.ErrorType.FILE_CORRUPTED
+                        : LoadGameException.ErrorType.DESERIALIZATION_ERROR,
+                REPLAY_FILE
+        );
+    }
+
+    /**
+     * Elimina una partida del almacén junto con su diario de disparos
+     */
+    public void deleteSave(SaveSlot slot) {
+        try {
+            saveStore.delete(slot);
+            journal.delete(slot.getGameId());
+            LOGGER.info("Partida " + slot.getGameId() + " eliminada del almacén");
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error al eliminar partida del almacén", e);
+        }
+    }
+
+    /**
+     * Diario de una partida: el suyo propio o, para partidas anteriores a los diarios por
+     * partida, el diario único si era de ella.
+     *
+     * @return null si la partida no tiene diario
+     */
+    private ShotJournal.Contents readJournal(String gameId) throws IOException {
+        ShotJournal.Contents contents = ShotJournal.read(journal.pathFor(gameId));
+        if (contents == null) {
+            contents = ShotJournal.read(Paths.get(LEGACY_JOURNAL_FILE));
+        }
+        return contents != null && contents.gameId.equals(gameId) ? contents : null;
+    }
+
+    /**
+     * Aplica sobre la instantánea los disparos del diario posteriores a ella, con las
+     * mismas reglas del juego. Se detiene en el primer registro que no encaje.
+     */
+    private void replayJournal(GameState gameState) throws IOException {
+        ShotJournal.Contents contents = readJournal(gameState.getGameId());
+        if (contents == null) {
+            return;
+        }
+
+        GameEngine engine = new GameEngine(gameState, null);
+        int replayed = 0;
+        for (int i = 0; i < contents.records.size(); i++) {
+            int move = contents.baseMove + i;
+            int current = gameState.getTotalPlayerShots() + gameState.getTotalEnemyShots();
+            if (move < current) continue;  // Ya incluido en la instantánea
+            if (move > current) break;     // Falta una jugada intermedia
+
+            ShotJournal.Record record = contents.records.get(i);
+            ShotEvent event = engine.fire(record.enemy ? Shooter.ENEMY : Shooter.PLAYER,
+                    BoardMasks.row(record.cell), BoardMasks.col(record.cell));
+            if (event == null || event.getResult() != record.result) {
+                LOGGER.warning("El diario de disparos no coincide con la partida en la jugada " + move);
+                break;
+            }
+            replayed++;
+        }
+        if (replayed > 0) {
+            LOGGER.info("Disparos recuperados del diario: " + replayed);
+        }
+    }
+
+    /**
+     * Lee una partida guardada con la serialización de Java, convirtiendo los tableros
+     * de la versión anterior de sus clases
+     */
+    private GameState readLegacyGameState() throws IOException, ClassNotFoundException {
+        try (LegacyGameStateInput input = new LegacyGameStateInput(
+                new BufferedInputStream(new FileInputStream(LEGACY_GAME_STATE_FILE)))) {
+            return input.readGameState();
+        }
+    }
+
+    /**
+     * Carga el perfil de un capitán. Si aún no tiene, se importa el archivo de texto
+     * anterior a los perfiles cuando es suyo, o se empieza uno vacío.
+     *
+     * @return Perfil del capitán
+     * @throws LoadGameException Si el archivo de perfiles no se puede leer
+     */
+    public PlayerData loadPlayerData(String nickname) throws LoadGameException {
+        try {
+            PlayerData profile = profileStore.find(nickname);
+            if (profile != null) {
+                return profile;
+            }
+
+            if (hasPlayerData()) {
+                PlayerData legacy = loadPlayerData();
+                if (nickname.equals(legacy.getNickname())) {
+                    LOGGER.info("Importando datos del jugador al perfil de " + nickname);
+                    return profileStore.putIfAbsent(legacy);
+                }
+            }
+            return new PlayerData(nickname);
+
+        } catch (InvalidClassException e) {
+            throw new LoadGameException(
+                    "Versión incompatible del archivo de perfiles",
+                    e,
+                    LoadGameException.ErrorType.VERSION_MISMATCH,
+                    PROFILES_FILE
+            );
+        } catch (IOException e) {
+            throw new LoadGameException(
+                    "Error al leer el archivo de perfiles",
+                    e,
+                    LoadGameException.ErrorType.FILE_CORRUPTED,
+                    PROFILES_FILE
             );
         }
     }
@@ -286,11 +870,20 @@ public class GamePersistenceManager {
 
     // ============== UTILIDADES ==============
 
+    /**
+     * Indica si el apodo cabe entero en los perfiles y en el índice de guardados.
+     * Un apodo más largo se recortaría y podría confundirse con el de otro capitán
+     * que empiece igual.
+     */
+    public static boolean fitsNickname(String nickname) {
+        return GameStateCodec.fitsFixedString(nickname, GameStateCodec.NICKNAME_FIELD);
+    }
+
     /**
      * Verifica si existe una partida guardada
      */
     public boolean hasSavedGame() {
-        return Files.exists(Paths.get(GAME_STATE_FILE));
+        return Files.exists(Paths.get(GAME_STATE_FILE)) || Files.exists(Paths.get(LEGACY_GAME_STATE_FILE));
     }
 
     /**
@@ -301,11 +894,20 @@ public class GamePersistenceManager {
     }
 
     /**
-     * Elimina la partida guardada
+     * Elimina la partida guardada junto con su diario de disparos
      */
     public void deleteSavedGame() {
         try {
+            if (Files.exists(Paths.get(GAME_STATE_FILE))) {
+                try {
+                    journal.delete(readSaveHeader().getGameId());
+                } catch (LoadGameException e) {
+                    LOGGER.log(Level.FINE, "Partida guardada ilegible; no se busca su diario", e);
+                }
+            }
             Files.deleteIfExists(Paths.get(GAME_STATE_FILE));
+            Files.deleteIfExists(Paths.get(LEGACY_GAME_STATE_FILE));
+            Files.deleteIfExists(Paths.get(LEGACY_JOURNAL_FILE));
             LOGGER.info("Partida guardada eliminada");
         } catch (IOException e) {
             LOGGER.log(Level.WARNING, "Error al eliminar partida guardada", e);
@@ -316,9 +918,24 @@ public class GamePersistenceManager {
      * Elimina todos los archivos de guardado
      */
     public void deleteAllSavedData() {
+        flush(); // Que ningún guardado pendiente vuelva a crear archivos después
         deleteSavedGame();
         try {
             Files.deleteIfExists(Paths.get(PLAYER_DATA_FILE));
+            profileStore.close();
+            Files.deleteIfExists(Paths.get(PROFILES_FILE));
+            replayArchive.close();
+            Files.deleteIfExists(Paths.get(REPLAY_FILE));
+            Files.deleteIfExists(Paths.get(REPLAY_INDEX_FILE));
+            saveStore.deleteAll();
+            journal.close();
+            if (Files.isDirectory(Paths.get(JOURNAL_DIRECTORY))) {
+                try (DirectoryStream<Path> journals = Files.newDirectoryStream(Paths.get(JOURNAL_DIRECTORY))) {
+                    for (Path path : journals) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
             LOGGER.info("Todos los datos guardados eliminados");
         } catch (IOException e) {
             LOGGER.log(Level.WARNING, "Error al eliminar datos del jugador", e);
@@ -333,12 +950,12 @@ public class GamePersistenceManager {
             return "No hay partida guardada";
         }
 
-        GameState gameState = loadGameState();
+        SaveHeader header = readSaveHeader();
         return String.format(
                 "Partida guardada: %s\nÚltima vez jugada: %s\nTurno: %s",
-                gameState.getGameId(),
-                gameState.getLastSaved(),
-                gameState.getCurrentTurn()
+                header.getGameId(),
+                header.getLastSaved(),
+                header.getCurrentTurn()
         );
     }
 }
@@ -4,6 +4,7 @@ import com.battleship.model.Board;
 import com.battleship.model.Ship;
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -38,6 +39,12 @@ public class GameState implements Serializable {
     // Metadatos
     private LocalDateTime lastSaved;
     private String gameId; // Identificador único del juego
+    private long seed;     // Semilla de la aleatoriedad de la partida
+    private String aiStrategy; // Id de la IA rival (dificultad); null en partidas antiguas
+
+    // Celdas disparadas en orden, de ambos bandos; el tirador se deduce repitiéndolas
+    private byte[] moveLog = new byte[32];
+    private int moveCount;
 
     /**
      * Constructor por defecto para un juego nuevo
@@ -107,6 +114,38 @@ public class GameState implements Serializable {
         this.totalEnemyShots++;
     }
 
+    /**
+     * Añade un disparo al registro de jugadas
+     */
+    public void recordMove(int cell) {
+        if (moveLog == null) {
+            moveLog = new byte[32]; // Partidas antiguas sin registro
+        } else if (moveCount == moveLog.length) {
+            moveLog = Arrays.copyOf(moveLog, moveCount * 2);
+        }
+        moveLog[moveCount++] = (byte) cell;
+    }
+
+    /**
+     * Disparos de la partida en orden. Puede faltar el principio si la partida viene de
+     * un guardado sin registro de jugadas.
+     */
+    public byte[] getMoves() {
+        return moveLog == null ? new byte[0] : Arrays.copyOf(moveLog, moveCount);
+    }
+
+    public void setMoves(byte[] moves) {
+        this.moveLog = Arrays.copyOf(moves, Math.max(moves.length, 32));
+        this.moveCount = moves.length;
+    }
+
+    /**
+     * Verifica si el registro de jugadas cubre todos los disparos de la partida
+     */
+    public boolean hasCompleteMoveLog() {
+        return moveLog != null && moveCount == totalPlayerShots + totalEnemyShots;
+    }
+
     /**
      * Incrementa el contador de impactos del jugador
      */
@@ -243,6 +282,22 @@ public class GameState implements Serializable {
         this.gameId = gameId;
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public String getAiStrategy() {
+        return aiStrategy;
+    }
+
+    public void setAiStrategy(String aiStrategy) {
+        this.aiStrategy = aiStrategy;
+    }
+
     @Override
     public String toString() {
         return "GameState{" +
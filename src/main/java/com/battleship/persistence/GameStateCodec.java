@@ -0,0 +1,355 @@
+package com.battleship.persistence;
+
+import com.battleship.model.Board;
+import com.battleship.model.BoardMasks;
+import com.battleship.model.CellState;
+import com.battleship.model.Ship;
+import com.battleship.model.ShipType;
+
+import java.io.InvalidClassException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Formato binario compacto y versionado de {@link GameState}.
+ * <p>
+ * Solo guarda la información mínima de la partida: contadores y turno empaquetados en
+ * bytes, y por cada tablero la geometría de sus barcos (tipo, celda ancla y orientación
+ * en dos bytes) más la máscara de 100 bits de celdas disparadas. Al leer, los tableros
+ * se reconstruyen colocando los barcos y repitiendo los disparos, de modo que impactos
+ * y hundimientos se recalculan con las mismas reglas del juego. Una partida completa
+ * ocupa un par de cientos de bytes.
+ * </p>
+ * <p>
+ * Los metadatos van en una cabecera de {@value #HEADER_SIZE} bytes con posiciones fijas,
+ * que {@link #readHeader(ByteBuffer)} lee sin tocar los tableros. Los textos se guardan
+ * en campos de ancho fijo y se recortan si no caben.
+ * </p>
+ * <pre>
+ *  0 int   MAGIC                 4 byte  VERSION
+ *  5 byte  banderas (turno, fin de partida, ganador)
+ *  6 6 x byte contadores        12 long  lastSaved (ms UTC)    20 long seed
+ * 28 byte + 31 bytes gameId     60 byte + 15 bytes aiStrategy
+ * 76 2 x tablero: byte nº barcos, 2 bytes por barco, 2 x long disparos
+ *    byte nº jugadas, 1 byte por jugada con la celda disparada (desde la versión 3)
+ * </pre>
+ * <p>
+ * El registro de jugadas guarda el orden de los disparos para archivar la repetición
+ * al terminar; los guardados anteriores a la versión 3 se cargan sin él.
+ * </p>
+ */
+public final class GameStateCodec {
+
+    static final int MAGIC = 0x42534853; // "BSHS"
+    static final byte VERSION = 3;
+
+    /** Tamaño de la cabecera de metadatos, igual para todos los guardados de esta versión */
+    public static final int HEADER_SIZE = 76;
+
+    // Anchos de las cadenas de tamaño fijo (byte de longitud + UTF-8), comunes a guardados,
+    // índice de guardados, perfiles y repeticiones
+    static final int NICKNAME_FIELD = 32;
+    static final int GAME_ID_FIELD = 32;
+    static final int AI_FIELD = 16;
+
+    private static final int NO_TYPE = 0xFF;
+    private static final int NULL_STRING = 0xFF;
+    private static final int HORIZONTAL_BIT = 0x80;
+
+    private static final int FLAG_ENEMY_TURN = 1;
+    private static final int FLAG_GAME_OVER = 1 << 1;
+    private static final int WINNER_SHIFT = 2; // 0 ninguno, 1 jugador, 2 enemigo
+
+    // Cota superior del tamaño codificado
+    private static final int MAX_SIZE = HEADER_SIZE + 2 * (1 + 3 * 100 + 16) + 1 + 2 * BoardMasks.CELL_COUNT;
+
+    private GameStateCodec() {
+    }
+
+    /**
+     * Codifica el estado completo de la partida
+     */
+    public static byte[] encode(GameState state) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+
+        int flags = 0;
+        if ("ENEMY".equals(state.getCurrentTurn())) flags |= FLAG_ENEMY_TURN;
+        if (state.isGameOver()) flags |= FLAG_GAME_OVER;
+        if ("PLAYER".equals(state.getWinner())) flags |= 1 << WINNER_SHIFT;
+        if ("ENEMY".equals(state.getWinner())) flags |= 2 << WINNER_SHIFT;
+        buffer.put((byte) flags);
+
+        putCounter(buffer, state.getPlayerShipsSunk());
+        putCounter(buffer, state.getEnemyShipsSunk());
+        putCounter(buffer, state.getTotalPlayerShots());
+        putCounter(buffer, state.getTotalEnemyShots());
+        putCounter(buffer, state.getPlayerHits());
+        putCounter(buffer, state.getEnemyHits());
+
+        LocalDateTime lastSaved = state.getLastSaved();
+        buffer.putLong(lastSaved == null ? 0L : lastSaved.toInstant(ZoneOffset.UTC).toEpochMilli());
+        buffer.putLong(state.getSeed());
+        putFixedString(buffer, state.getGameId(), GAME_ID_FIELD);
+        putFixedString(buffer, state.getAiStrategy(), AI_FIELD);
+
+        encodeBoard(buffer, state.getPlayerBoard());
+        encodeBoard(buffer, state.getEnemyBoard());
+
+        byte[] moves = state.getMoves();
+        buffer.put((byte) moves.length);
+        buffer.put(moves);
+
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip();
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Reconstruye una partida codificada con {@link #encode(GameState)}
+     *
+     * @throws StreamCorruptedException Si los datos no son un guardado válido
+     * @throws InvalidClassException    Si el guardado es de una versión no soportada
+     */
+    public static GameState decode(byte[] bytes) throws StreamCorruptedException, InvalidClassException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            SaveHeader header = readHeader(buffer);
+
+            GameState state = new GameState();
+            state.setCurrentTurn(header.getCurrentTurn());
+            state.setGameOver(header.isGameOver());
+            state.setWinner(header.getWinner());
+            state.setPlayerShipsSunk(header.getPlayerShipsSunk());
+            state.setEnemyShipsSunk(header.getEnemyShipsSunk());
+            state.setTotalPlayerShots(header.getTotalPlayerShots());
+            state.setTotalEnemyShots(header.getTotalEnemyShots());
+            state.setPlayerHits(header.getPlayerHits());
+            state.setEnemyHits(header.getEnemyHits());
+            state.setLastSaved(header.getLastSaved());
+            state.setSeed(header.getSeed());
+            state.setGameId(header.getGameId());
+            state.setAiStrategy(header.getAiStrategy());
+
+            state.setPlayerBoard(decodeBoard(buffer));
+            state.setEnemyBoard(decodeBoard(buffer));
+
+            if (bytes[4] >= 3) {
+                byte[] moves = new byte[Byte.toUnsignedInt(buffer.get())];
+                buffer.get(moves);
+                state.setMoves(moves);
+            }
+            return state;
+
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            StreamCorruptedException corrupted = new StreamCorruptedException("Guardado incompleto o dañado");
+            corrupted.initCause(e);
+            throw corrupted;
+        }
+    }
+
+    /**
+     * Lee la cabecera de metadatos y deja el buffer al principio de los tableros. Basta
+     * con que el buffer contenga los primeros {@value #HEADER_SIZE} bytes del archivo.
+     *
+     * @throws StreamCorruptedException Si los datos no son un guardado válido
+     * @throws InvalidClassException    Si el guardado es de una versión no soportada
+     */
+    public static SaveHeader readHeader(ByteBuffer buffer) throws StreamCorruptedException, InvalidClassException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new StreamCorruptedException("No es un guardado de Batalla Naval");
+            }
+            byte version = buffer.get();
+            if (version < 1 || version > VERSION) {
+                throw new InvalidClassException(GameState.class.getName(),
+                        "Versión de guardado no soportada: " + version);
+            }
+
+            int flags = buffer.get();
+            int winner = (flags >> WINNER_SHIFT) & 3;
+            int playerShipsSunk = getCounter(buffer);
+            int enemyShipsSunk = getCounter(buffer);
+            int totalPlayerShots = getCounter(buffer);
+            int totalEnemyShots = getCounter(buffer);
+            int playerHits = getCounter(buffer);
+            int enemyHits = getCounter(buffer);
+            LocalDateTime lastSaved = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC);
+            long seed = buffer.getLong();
+
+            // La versión 1 guardaba los textos con longitud variable
+            String gameId = version == 1 ? getString(buffer) : getFixedString(buffer, GAME_ID_FIELD);
+            String aiStrategy = version == 1 ? getString(buffer) : getFixedString(buffer, AI_FIELD);
+
+            return new SaveHeader(gameId, lastSaved,
+                    (flags & FLAG_ENEMY_TURN) != 0 ? "ENEMY" : "PLAYER",
+                    (flags & FLAG_GAME_OVER) != 0,
+                    winner == 1 ? "PLAYER" : winner == 2 ? "ENEMY" : null,
+                    playerShipsSunk, enemyShipsSunk, totalPlayerShots, totalEnemyShots,
+                    playerHits, enemyHits, seed, aiStrategy);
+
+        } catch (BufferUnderflowException e) {
+            StreamCorruptedException corrupted = new StreamCorruptedException("Cabecera de guardado incompleta");
+            corrupted.initCause(e);
+            throw corrupted;
+        }
+    }
+
+    /**
+     * Barcos en dos bytes cada uno y disparos como máscara de bits
+     */
+    private static void encodeBoard(ByteBuffer buffer, Board board) {
+        encodeFleet(buffer, board);
+        long[] shots = shotMask(board);
+        buffer.putLong(shots[0]);
+        buffer.putLong(shots[1]);
+    }
+
+    private static Board decodeBoard(ByteBuffer buffer) throws StreamCorruptedException {
+        Board board = decodeFleet(buffer);
+        long shotLo = buffer.getLong();
+        long shotHi = buffer.getLong();
+        applyShots(board, shotLo, shotHi);
+        return board;
+    }
+
+    /**
+     * Solo la geometría de los barcos: byte nº barcos y dos bytes por barco
+     */
+    static void encodeFleet(ByteBuffer buffer, Board board) {
+        buffer.put((byte) board.getShipCount());
+        for (Ship ship : board.getShips()) {
+            if (ship.getType() == null) {
+                buffer.put((byte) NO_TYPE);
+                buffer.put((byte) ship.getSize());
+            } else {
+                buffer.put((byte) ship.getType().ordinal());
+            }
+            buffer.put((byte) (ship.getAnchorIndex() | (ship.isHorizontal() ? HORIZONTAL_BIT : 0)));
+        }
+    }
+
+    /**
+     * Celdas ya disparadas del tablero, como máscara de 128 bits
+     */
+    static long[] shotMask(Board board) {
+        long shotLo = 0L;
+        long shotHi = 0L;
+        for (int cell = 0; cell < BoardMasks.CELL_COUNT; cell++) {
+            CellState state = board.getCellState(BoardMasks.row(cell), BoardMasks.col(cell));
+            if (state == CellState.WATER || state == CellState.HIT || state == CellState.SUNK) {
+                shotLo |= BoardMasks.bitLo(cell);
+                shotHi |= BoardMasks.bitHi(cell);
+            }
+        }
+        return new long[] {shotLo, shotHi};
+    }
+
+    /**
+     * Tablero sin disparos con los barcos codificados por {@link #encodeFleet}
+     */
+    static Board decodeFleet(ByteBuffer buffer) throws StreamCorruptedException {
+        Board board = new Board();
+        ShipType[] types = ShipType.values();
+
+        int shipCount = Byte.toUnsignedInt(buffer.get());
+        for (int i = 0; i < shipCount; i++) {
+            int typeCode = Byte.toUnsignedInt(buffer.get());
+            Ship ship;
+            int placement;
+            if (typeCode == NO_TYPE) {
+                ship = new Ship(Byte.toUnsignedInt(buffer.get()), null);
+                placement = Byte.toUnsignedInt(buffer.get());
+                ship.setHorizontal((placement & HORIZONTAL_BIT) != 0);
+            } else if (typeCode < types.length) {
+                placement = Byte.toUnsignedInt(buffer.get());
+                ship = new Ship(types[typeCode], (placement & HORIZONTAL_BIT) != 0);
+            } else {
+                throw new StreamCorruptedException("Tipo de barco desconocido: " + typeCode);
+            }
+
+            int anchor = placement & ~HORIZONTAL_BIT;
+            if (anchor >= BoardMasks.CELL_COUNT
+                    || !board.placeShip(ship, BoardMasks.row(anchor), BoardMasks.col(anchor))) {
+                throw new StreamCorruptedException("Barco en una posición inválida: " + anchor);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Repite los disparos de la máscara, lo que recalcula impactos y hundimientos. El
+     * resultado no depende del orden de los disparos.
+     */
+    static void applyShots(Board board, long shotLo, long shotHi) throws StreamCorruptedException {
+        while (shotLo != 0) {
+            int cell = Long.numberOfTrailingZeros(shotLo);
+            shotLo &= shotLo - 1;
+            board.processShot(BoardMasks.row(cell), BoardMasks.col(cell));
+        }
+        while (shotHi != 0) {
+            int cell = 64 + Long.numberOfTrailingZeros(shotHi);
+            shotHi &= shotHi - 1;
+            if (cell >= BoardMasks.CELL_COUNT) {
+                throw new StreamCorruptedException("Disparo fuera del tablero: " + cell);
+            }
+            board.processShot(BoardMasks.row(cell), BoardMasks.col(cell));
+        }
+    }
+
+    private static void putCounter(ByteBuffer buffer, int value) {
+        buffer.put((byte) Math.min(Math.max(value, 0), 0xFF));
+    }
+
+    private static int getCounter(ByteBuffer buffer) {
+        return Byte.toUnsignedInt(buffer.get());
+    }
+
+    /**
+     * Texto en un campo de {@code width} bytes: longitud (o NULL_STRING) y contenido
+     * rellenado con ceros
+     */
+    static void putFixedString(ByteBuffer buffer, String value, int width) {
+        int start = buffer.position();
+        if (value == null) {
+            buffer.put((byte) NULL_STRING);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, width - 1);
+            buffer.put((byte) length);
+            buffer.put(bytes, 0, length);
+        }
+        buffer.position(start + width);
+    }
+
+    /**
+     * Indica si la cadena cabe entera en un campo de {@code width} bytes, sin recortarla
+     */
+    static boolean fitsFixedString(String value, int width) {
+        return value == null || value.getBytes(StandardCharsets.UTF_8).length <= width - 1;
+    }
+
+    static String getFixedString(ByteBuffer buffer, int width) {
+        int start = buffer.position();
+        String value = getString(buffer);
+        buffer.position(start + width);
+        return value;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Byte.toUnsignedInt(buffer.get());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,189 @@
+package com.battleship.persistence;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Clasificación de los capitanes, mantenida al día partida a partida.
+ * <p>
+ * Los capitanes se ordenan por victorias, luego por porcentaje de victorias, luego
+ * por barcos hundidos y por último por apodo. El orden vive en una lista de saltos
+ * concurrente: cada resultado solo saca y vuelve a meter la entrada de ese capitán,
+ * sin reordenar a nadie más, y el top-K es recorrer sus K primeras entradas.
+ * </p>
+ * <p>
+ * Para la posición de un capitán, un árbol de Fenwick con contadores atómicos cuenta
+ * cuántos capitanes tienen más victorias; solo se recorren los empatados a victorias.
+ * Las actualizaciones de capitanes distintos no comparten ningún bloqueo: cada una
+ * serializa solo las de su propio apodo. Mientras se actualiza otro capitán una
+ * consulta puede ver su estado anterior o el nuevo, nunca uno a medias.
+ * </p>
+ */
+public final class Leaderboard {
+
+    // Victorias máximas que distingue el árbol de Fenwick; por encima cuentan igual
+    private static final int MAX_WINS = (1 << 16) - 1;
+
+    /**
+     * Fila de la clasificación: la foto de un perfil en un momento dado
+     */
+    public static final class Entry {
+        private final String nickname;
+        private final int gamesWon;
+        private final int gamesPlayed;
+        private final int shipsDestroyed;
+
+        Entry(PlayerData data) {
+            this.nickname = data.getNickname();
+            this.gamesWon = data.getGamesWon();
+            this.gamesPlayed = data.getGamesPlayed();
+            this.shipsDestroyed = data.getPlayerShipsDestroyed();
+        }
+
+        public String getNickname() {
+            return nickname;
+        }
+
+        public int getGamesWon() {
+            return gamesWon;
+        }
+
+        public int getGamesPlayed() {
+            return gamesPlayed;
+        }
+
+        public int getShipsDestroyed() {
+            return shipsDestroyed;
+        }
+
+        public double getWinRate() {
+            return gamesPlayed == 0 ? 0.0 : (double) gamesWon / gamesPlayed * 100.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d victorias (%.1f%%), %d barcos hundidos",
+                    nickname, gamesWon, getWinRate(), shipsDestroyed);
+        }
+    }
+
+    // Mejor primero; el porcentaje se compara en productos cruzados para no redondear
+    private static final Comparator<Entry> RANKING = (a, b) -> {
+        if (a.gamesWon != b.gamesWon) {
+            return Integer.compare(b.gamesWon, a.gamesWon);
+        }
+        int byRate = Long.compare((long) b.gamesWon * a.gamesPlayed, (long) a.gamesWon * b.gamesPlayed);
+        if (byRate != 0) {
+            return byRate;
+        }
+        if (a.shipsDestroyed != b.shipsDestroyed) {
+            return Integer.compare(b.shipsDestroyed, a.shipsDestroyed);
+        }
+        return a.nickname.compareTo(b.nickname);
+    };
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+
+    // Capitanes por número de victorias, como árbol de Fenwick (índices desde 1)
+    private final AtomicIntegerArray winCounts = new AtomicIntegerArray(MAX_WINS + 2);
+
+    /**
+     * Coloca el perfil en la clasificación. Los contadores de un perfil solo crecen, así
+     * que una foto con menos partidas que la ya registrada llega tarde y se ignora.
+     */
+    public void update(PlayerData profile) {
+        Entry fresh = new Entry(profile);
+        entries.compute(fresh.nickname, (nickname, old) -> {
+            if (old != null && (old.gamesPlayed > fresh.gamesPlayed || RANKING.compare(old, fresh) == 0)) {
+                return old;
+            }
+            // Entrar antes de salir: una consulta nunca deja de ver al capitán, y hasta que
+            // compute termine sigue viendo solo la entrada anterior (ver isCurrent)
+            ranking.add(fresh);
+            addWins(fresh.gamesWon, 1);
+            if (old != null) {
+                ranking.remove(old);
+                addWins(old.gamesWon, -1);
+            }
+            return fresh;
+        });
+    }
+
+    /**
+     * Los {@code k} primeros de la clasificación
+     */
+    public List<Entry> top(int k) {
+        List<Entry> top = new ArrayList<>(Math.min(k, 128));
+        Iterator<Entry> iterator = ranking.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (isCurrent(entry)) {
+                top.add(entry);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Posición de un capitán, empezando en 1
+     *
+     * @return La posición, o 0 si el capitán aún no tiene partidas registradas
+     */
+    public int rankOf(String nickname) {
+        Entry entry = entries.get(nickname);
+        if (entry == null) {
+            return 0;
+        }
+
+        // Todos los que tienen más victorias van delante
+        int wins = Math.min(entry.gamesWon, MAX_WINS);
+        int rank = 1 + countWins(MAX_WINS) - countWins(wins);
+
+        // Entre los empatados, los anteriores en la lista
+        Iterator<Entry> ahead = ranking.headSet(entry).descendingIterator();
+        while (ahead.hasNext()) {
+            Entry other = ahead.next();
+            if (Math.min(other.gamesWon, MAX_WINS) != wins) break;
+            if (isCurrent(other)) rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Entrada actual de un capitán, o null
+     */
+    public Entry get(String nickname) {
+        return entries.get(nickname);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Descarta la entrada que se está reemplazando mientras conviven las dos
+    private boolean isCurrent(Entry entry) {
+        return entries.get(entry.nickname) == entry;
+    }
+
+    private void addWins(int wins, int delta) {
+        for (int i = Math.min(wins, MAX_WINS) + 1; i < winCounts.length(); i += i & -i) {
+            winCounts.getAndAdd(i, delta);
+        }
+    }
+
+    // Capitanes con como mucho {@code wins} victorias
+    private int countWins(int wins) {
+        int count = 0;
+        for (int i = wins + 1; i > 0; i -= i & -i) {
+            count += winCounts.get(i);
+        }
+        return count;
+    }
+}
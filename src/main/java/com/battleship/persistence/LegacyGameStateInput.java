@@ -0,0 +1,110 @@
+package com.battleship.persistence;
+
+import com.battleship.model.Board;
+import com.battleship.model.CellState;
+import com.battleship.model.Position;
+import com.battleship.model.Ship;
+import com.battleship.model.ShipType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Lee las partidas guardadas con la serialización de Java ({@code battleship_game.ser}).
+ * <p>
+ * En esos archivos {@link Board} y {@link Ship} tienen la versión 1 de su clase: una
+ * matriz de {@link CellState} y una lista de barcos. Las clases actuales son la versión
+ * 2 y guardan máscaras de bits, así que no pueden leerlos directamente. Este flujo lee
+ * esas dos clases con la forma antigua y reconstruye cada tablero colocando sus barcos y
+ * repitiendo sus disparos. {@link GameState} no cambió de versión y se lee tal cual.
+ * </p>
+ */
+class LegacyGameStateInput extends ObjectInputStream {
+
+    private static final long LEGACY_VERSION = 1L;
+
+    LegacyGameStateInput(InputStream in) throws IOException {
+        super(in);
+    }
+
+    /**
+     * Lee la partida y completa lo que los guardados antiguos no tenían
+     *
+     * @throws InvalidObjectException Si el archivo no contiene una partida válida
+     */
+    GameState readGameState() throws IOException, ClassNotFoundException {
+        Object obj = readObject();
+        if (!(obj instanceof GameState)) {
+            throw new InvalidObjectException("El archivo no contiene un GameState válido");
+        }
+        GameState state = (GameState) obj;
+        state.setMoves(new byte[0]); // Sin registro de jugadas
+        return state;
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+        ObjectStreamClass descriptor = super.readClassDescriptor();
+        if (descriptor.getSerialVersionUID() == LEGACY_VERSION) {
+            if (Board.class.getName().equals(descriptor.getName())) {
+                return ObjectStreamClass.lookup(LegacyBoard.class);
+            }
+            if (Ship.class.getName().equals(descriptor.getName())) {
+                return ObjectStreamClass.lookup(LegacyShip.class);
+            }
+        }
+        return descriptor;
+    }
+
+    /**
+     * Forma serializada de la versión 1 de {@link Board}; los campos deben llamarse igual
+     */
+    private static final class LegacyBoard implements Serializable {
+        private static final long serialVersionUID = LEGACY_VERSION;
+
+        private CellState[][] grid;
+        private List<?> ships;
+
+        private Object readResolve() throws ObjectStreamException {
+            Board board = new Board();
+            for (Object element : ships) {
+                LegacyShip legacy = (LegacyShip) element;
+                if (!board.placeShip(new Ship(legacy.type, legacy.horizontal), legacy.row, legacy.col)) {
+                    throw new InvalidObjectException("Barco mal colocado en (" + legacy.row + ", " + legacy.col + ")");
+                }
+            }
+
+            for (int row = 0; row < grid.length; row++) {
+                for (int col = 0; col < grid[row].length; col++) {
+                    CellState state = grid[row][col];
+                    if (state == CellState.WATER || state == CellState.HIT || state == CellState.SUNK) {
+                        board.processShot(row, col);
+                    }
+                }
+            }
+            return board;
+        }
+    }
+
+    /**
+     * Forma serializada de la versión 1 de {@link Ship}; los campos deben llamarse igual
+     */
+    @SuppressWarnings("unused") // Se leen del flujo aunque solo se usen algunos
+    private static final class LegacyShip implements Serializable {
+        private static final long serialVersionUID = LEGACY_VERSION;
+
+        private ShipType type;
+        private int size;
+        private int row;
+        private int col;
+        private boolean horizontal;
+        private int hits;
+        private List<Position> positions;
+    }
+}
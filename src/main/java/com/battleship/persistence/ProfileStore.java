@@ -0,0 +1,333 @@
+package com.battleship.persistence;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Perfiles de todos los capitanes en un archivo de registros fijos.
+ * <p>
+ * El archivo es una tabla hash de direccionamiento abierto (sondeo lineal) proyectada
+ * en memoria: el apodo decide la ranura, así que buscar un perfil lee uno o dos
+ * registros sea cual sea el número de capitanes. Cada registro ocupa
+ * {@value #RECORD_SIZE} bytes alineados, de modo que nunca cruza un sector del disco:
+ * </p>
+ * <pre>
+ *  0 byte estado     4 int hash          8 apodo (byte + 31)     40 long última partida
+ * 48 int jugadas    52 int ganadas      56 int perdidas          60 int barcos hundidos
+ * 64 int barcos perdidos
+ * </pre>
+ * <p>
+ * Actualizar los contadores de un capitán reescribe solo su registro, de una vez, y lo
+ * lleva a disco. Los métodos están sincronizados, así que dentro del programa ningún
+ * hilo ve ni pisa una actualización a medias. El archivo es de un solo proceso: no hay
+ * bloqueos entre procesos y dos instancias del juego abiertas a la vez no deben
+ * compartirlo. Cuando la tabla pasa del 70 % de ocupación se reconstruye al doble de
+ * tamaño en un archivo nuevo.
+ * </p>
+ */
+class ProfileStore {
+
+    private static final Logger LOGGER = Logger.getLogger(ProfileStore.class.getName());
+
+    static final int MAGIC = 0x42535031; // "BSP1"
+    private static final int VERSION = 1;
+
+    // La cabecera ocupa lo mismo que un registro para mantenerlos alineados
+    static final int RECORD_SIZE = 128;
+    private static final int CAPACITY_POSITION = 8;
+    private static final int COUNT_POSITION = 12;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double MAX_LOAD = 0.7;
+
+    // Campos de cada registro
+    private static final int STATE = 0;
+    private static final int HASH = 4;
+    private static final int NICKNAME = 8;
+    private static final int LAST_PLAYED = 40;
+    private static final int GAMES_PLAYED = 48;
+    private static final int GAMES_WON = 52;
+    private static final int GAMES_LOST = 56;
+    private static final int SHIPS_DESTROYED = 60;
+    private static final int SHIPS_LOST = 64;
+
+    private static final byte USED = 1;
+
+    private final Path file;
+    private FileChannel channel;
+    private MappedByteBuffer table;
+    private int capacity;
+    private int count;
+
+    ProfileStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Perfil de un capitán, o null si aún no tiene
+     */
+    synchronized PlayerData find(String nickname) throws IOException {
+        ensureOpen();
+        byte[] key = nicknameKey(nickname);
+        int slot = probe(key, hash(key));
+        return table.get(base(slot) + STATE) == USED ? toPlayerData(slot) : null;
+    }
+
+    /**
+     * Crea el perfil con los datos dados si el capitán aún no tiene uno
+     *
+     * @return El perfil guardado, nuevo o ya existente
+     */
+    synchronized PlayerData putIfAbsent(PlayerData data) throws IOException {
+        ensureOpen();
+        byte[] key = nicknameKey(data.getNickname());
+        int slot = slotFor(key);
+        if (table.get(base(slot) + STATE) != USED) {
+            ByteBuffer record = newRecord(key);
+            record.putLong(LAST_PLAYED, toMillis(data.getLastPlayed()));
+            record.putInt(GAMES_PLAYED, data.getGamesPlayed());
+            record.putInt(GAMES_WON, data.getGamesWon());
+            record.putInt(GAMES_LOST, data.getGamesLost());
+            record.putInt(SHIPS_DESTROYED, data.getPlayerShipsDestroyed());
+            record.putInt(SHIPS_LOST, data.getEnemyShipsDestroyed());
+            insert(slot, record);
+        }
+        return toPlayerData(slot);
+    }
+
+    /**
+     * Suma el resultado de una partida al perfil del capitán, creándolo si no existe.
+     * Solo se reescribe su registro.
+     *
+     * @param shipsDestroyed Barcos enemigos hundidos en la partida
+     * @param shipsLost      Barcos propios hundidos por el enemigo
+     * @return El perfil actualizado
+     */
+    synchronized PlayerData recordGame(String nickname, boolean won, int shipsDestroyed, int shipsLost)
+            throws IOException {
+        ensureOpen();
+        byte[] key = nicknameKey(nickname);
+        int slot = slotFor(key);
+        if (table.get(base(slot) + STATE) != USED) {
+            insert(slot, newRecord(key));
+        }
+
+        int base = base(slot);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        table.get(base, record.array());
+        record.putLong(LAST_PLAYED, toMillis(LocalDateTime.now()));
+        record.putInt(GAMES_PLAYED, record.getInt(GAMES_PLAYED) + 1);
+        record.putInt(won ? GAMES_WON : GAMES_LOST, record.getInt(won ? GAMES_WON : GAMES_LOST) + 1);
+        record.putInt(SHIPS_DESTROYED, record.getInt(SHIPS_DESTROYED) + shipsDestroyed);
+        record.putInt(SHIPS_LOST, record.getInt(SHIPS_LOST) + shipsLost);
+        table.put(base, record.array());
+        table.force(base, RECORD_SIZE);
+        return toPlayerData(slot);
+    }
+
+    /**
+     * Recorre todos los perfiles en el orden de la tabla
+     */
+    synchronized void forEach(Consumer<PlayerData> action) throws IOException {
+        ensureOpen();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (table.get(base(slot) + STATE) == USED) {
+                action.accept(toPlayerData(slot));
+            }
+        }
+    }
+
+    /**
+     * Número de capitanes con perfil
+     */
+    synchronized int size() throws IOException {
+        ensureOpen();
+        return count;
+    }
+
+    /**
+     * Lleva la tabla a disco y cierra el archivo; se vuelve a abrir al usarlo
+     */
+    synchronized void close() throws IOException {
+        if (table == null) {
+            return;
+        }
+        table.force();
+        channel.close();
+        table = null;
+    }
+
+    // ============== TABLA ==============
+
+    private void ensureOpen() throws IOException {
+        if (table != null) {
+            return;
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() < RECORD_SIZE) {
+            create(channel, INITIAL_CAPACITY);
+        }
+        ByteBuffer head = ByteBuffer.allocate(16);
+        channel.read(head, 0);
+        head.flip();
+        if (head.getInt() != MAGIC) {
+            channel.close();
+            throw new StreamCorruptedException("El archivo de perfiles no es válido");
+        }
+        int version = head.getInt();
+        if (version != VERSION) {
+            channel.close();
+            throw new InvalidClassException("Versión de perfiles no soportada: " + version);
+        }
+        capacity = head.getInt();
+        count = head.getInt();
+        table = channel.map(FileChannel.MapMode.READ_WRITE, 0, RECORD_SIZE * (capacity + 1L));
+    }
+
+    private static void create(FileChannel channel, int capacity) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(RECORD_SIZE);
+        head.putInt(MAGIC).putInt(VERSION).putInt(capacity).putInt(0);
+        head.clear();
+        channel.write(head, 0);
+        channel.truncate(RECORD_SIZE * (capacity + 1L));
+        // Las ranuras vacías se leen como ceros al extender el archivo
+        channel.write(ByteBuffer.allocate(1), RECORD_SIZE * (capacity + 1L) - 1);
+    }
+
+    private static int base(int slot) {
+        return RECORD_SIZE * (slot + 1);
+    }
+
+    /**
+     * Ranura del capitán o la vacía donde iría, siguiendo el sondeo lineal
+     */
+    private int probe(byte[] key, int hash) {
+        int mask = capacity - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int base = base(slot);
+            if (table.get(base + STATE) != USED) {
+                return slot;
+            }
+            if (table.getInt(base + HASH) == hash
+                    && table.slice(base + NICKNAME, GameStateCodec.NICKNAME_FIELD).equals(ByteBuffer.wrap(key))) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Como {@link #probe} pero agrandando antes la tabla si un perfil nuevo la llenaría
+     */
+    private int slotFor(byte[] key) throws IOException {
+        int hash = hash(key);
+        int slot = probe(key, hash);
+        if (table.get(base(slot) + STATE) != USED && count + 1 > MAX_LOAD * capacity) {
+            grow();
+            slot = probe(key, hash);
+        }
+        return slot;
+    }
+
+    private ByteBuffer newRecord(byte[] key) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(HASH, hash(key));
+        record.put(NICKNAME, key);
+        record.putLong(LAST_PLAYED, toMillis(LocalDateTime.now()));
+        return record;
+    }
+
+    /**
+     * Escribe un registro nuevo; queda visible al marcarlo como usado
+     */
+    private void insert(int slot, ByteBuffer record) {
+        int base = base(slot);
+        table.put(base, record.array());
+        table.put(base + STATE, USED);
+        table.putInt(COUNT_POSITION, ++count);
+        table.force(base, RECORD_SIZE);
+    }
+
+    /**
+     * Reconstruye la tabla con el doble de ranuras en un archivo aparte y lo pone en
+     * lugar del actual
+     */
+    private void grow() throws IOException {
+        int newCapacity = capacity * 2;
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            create(target, newCapacity);
+            MappedByteBuffer grown = target.map(FileChannel.MapMode.READ_WRITE, 0, RECORD_SIZE * (newCapacity + 1L));
+            byte[] record = new byte[RECORD_SIZE];
+            int mask = newCapacity - 1;
+            for (int slot = 0; slot < capacity; slot++) {
+                if (table.get(base(slot) + STATE) != USED) continue;
+                table.get(base(slot), record);
+                int to = ByteBuffer.wrap(record).getInt(HASH) & mask;
+                while (grown.get(base(to) + STATE) == USED) {
+                    to = (to + 1) & mask;
+                }
+                grown.put(base(to), record);
+            }
+            grown.putInt(COUNT_POSITION, count);
+            grown.force();
+        }
+
+        table.force();
+        channel.close();
+        table = null;
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        ensureOpen();
+        LOGGER.info("Tabla de perfiles ampliada a " + capacity + " ranuras");
+    }
+
+    private PlayerData toPlayerData(int slot) {
+        int base = base(slot);
+        return new PlayerData(
+                GameStateCodec.getFixedString(table.slice(base + NICKNAME, GameStateCodec.NICKNAME_FIELD), GameStateCodec.NICKNAME_FIELD),
+                table.getInt(base + SHIPS_DESTROYED),
+                table.getInt(base + SHIPS_LOST),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(table.getLong(base + LAST_PLAYED)), ZoneOffset.UTC),
+                table.getInt(base + GAMES_PLAYED),
+                table.getInt(base + GAMES_WON),
+                table.getInt(base + GAMES_LOST));
+    }
+
+    private static byte[] nicknameKey(String nickname) {
+        byte[] key = new byte[GameStateCodec.NICKNAME_FIELD];
+        GameStateCodec.putFixedString(ByteBuffer.wrap(key), nickname, GameStateCodec.NICKNAME_FIELD);
+        return key;
+    }
+
+    // Mezcla de los bytes del apodo, repartida para el sondeo lineal
+    private static int hash(byte[] key) {
+        int h = 0x811C9DC5;
+        for (byte b : key) {
+            h = (h ^ b) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return (time == null ? LocalDateTime.now() : time).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,289 @@
+package com.battleship.persistence;
+
+import com.battleship.model.Board;
+import com.battleship.model.BoardMasks;
+import com.battleship.model.CellState;
+
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Repetición de una partida terminada, tal como la guarda {@link ReplayArchive}.
+ * <p>
+ * Contiene las flotas iniciales y los disparos en orden. Cada disparo se guarda como
+ * varint con la diferencia (en zigzag) respecto al anterior del mismo tirador; quién
+ * dispara no se guarda porque se deduce de las reglas: empieza el jugador y el agua
+ * pasa el turno. Cada {@value #SNAPSHOT_INTERVAL} jugadas hay una instantánea con las
+ * celdas disparadas de ambos tableros y la posición en el flujo de disparos, así que
+ * cualquier jugada se reconstruye desde la instantánea anterior con como mucho
+ * {@value #SNAPSHOT_INTERVAL} disparos más.
+ * </p>
+ * <pre>
+ * byte versión, apodo (byte + 31), gameId (byte + 31), aiStrategy (byte + 15)
+ * long seed, long fin de partida (ms UTC), byte ganador (1 jugador, 2 enemigo)
+ * 2 x flota (byte nº barcos, 2 bytes por barco), byte nº jugadas, byte nº instantáneas
+ * instantáneas: short posición en el flujo, byte turno, 2 x byte último disparo de
+ *               cada tirador, 4 x long celdas disparadas (jugador, enemigo)
+ * flujo de disparos hasta el final
+ * </pre>
+ */
+public final class Replay {
+
+    static final byte FORMAT_VERSION = 1;
+    static final int SNAPSHOT_INTERVAL = 32;
+
+    private static final int SNAPSHOT_SIZE = 2 + 1 + 2 + 4 * 8;
+
+    private static final int PLAYER = 0;
+    private static final int ENEMY = 1;
+
+    private final ByteBuffer data;
+    private final String nickname;
+    private final String gameId;
+    private final String aiStrategy;
+    private final long seed;
+    private final LocalDateTime finishedAt;
+    private final String winner;
+    private final int fleetsPosition;
+    private final int moveCount;
+    private final int snapshotCount;
+    private final int snapshotsPosition;
+    private final int streamPosition;
+
+    private Replay(ByteBuffer data) throws StreamCorruptedException {
+        this.data = data;
+        if (data.get() != FORMAT_VERSION) {
+            throw new StreamCorruptedException("Versión de repetición desconocida");
+        }
+        nickname = GameStateCodec.getFixedString(data, GameStateCodec.NICKNAME_FIELD);
+        gameId = GameStateCodec.getFixedString(data, GameStateCodec.GAME_ID_FIELD);
+        aiStrategy = GameStateCodec.getFixedString(data, GameStateCodec.AI_FIELD);
+        seed = data.getLong();
+        finishedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(data.getLong()), ZoneOffset.UTC);
+        int winnerCode = data.get();
+        winner = winnerCode == 1 ? "PLAYER" : winnerCode == 2 ? "ENEMY" : null;
+
+        fleetsPosition = data.position();
+        GameStateCodec.decodeFleet(data);
+        GameStateCodec.decodeFleet(data);
+
+        moveCount = Byte.toUnsignedInt(data.get());
+        snapshotCount = Byte.toUnsignedInt(data.get());
+        snapshotsPosition = data.position();
+        streamPosition = snapshotsPosition + snapshotCount * SNAPSHOT_SIZE;
+        if (streamPosition > data.limit()) {
+            throw new StreamCorruptedException("Repetición incompleta");
+        }
+    }
+
+    /**
+     * Lee una repetición codificada con {@link #encode}
+     *
+     * @throws StreamCorruptedException Si los datos no son una repetición válida
+     */
+    static Replay decode(byte[] bytes) throws StreamCorruptedException {
+        try {
+            return new Replay(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            StreamCorruptedException corrupted = new StreamCorruptedException("Repetición incompleta o dañada");
+            corrupted.initCause(e);
+            throw corrupted;
+        }
+    }
+
+    /**
+     * Codifica una partida terminada. Las flotas iniciales se obtienen de los tableros
+     * finales, y los disparos se repiten desde cero para tomar las instantáneas.
+     *
+     * @throws StreamCorruptedException Si el registro de jugadas no cuadra con los tableros
+     */
+    static byte[] encode(GameState state, String nickname) throws StreamCorruptedException {
+        byte[] moves = state.getMoves();
+        // Una por cada múltiplo del intervalo antes de la última jugada; en uno exacto no
+        // queda ninguna jugada después, así que no se escribe
+        int snapshots = moves.length == 0 ? 0 : (moves.length - 1) / SNAPSHOT_INTERVAL;
+        ByteBuffer buffer = ByteBuffer.allocate(256 + 2 * (1 + 2 * 16) + snapshots * SNAPSHOT_SIZE + 2 * moves.length);
+
+        buffer.put(FORMAT_VERSION);
+        GameStateCodec.putFixedString(buffer, nickname, GameStateCodec.NICKNAME_FIELD);
+        GameStateCodec.putFixedString(buffer, state.getGameId(), GameStateCodec.GAME_ID_FIELD);
+        GameStateCodec.putFixedString(buffer, state.getAiStrategy(), GameStateCodec.AI_FIELD);
+        buffer.putLong(state.getSeed());
+        buffer.putLong(LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli());
+        buffer.put((byte) ("PLAYER".equals(state.getWinner()) ? 1 : "ENEMY".equals(state.getWinner()) ? 2 : 0));
+
+        int fleets = buffer.position();
+        GameStateCodec.encodeFleet(buffer, state.getPlayerBoard());
+        GameStateCodec.encodeFleet(buffer, state.getEnemyBoard());
+        ByteBuffer fleetReader = buffer.duplicate();
+        fleetReader.position(fleets);
+        Board playerBoard = GameStateCodec.decodeFleet(fleetReader);
+        Board enemyBoard = GameStateCodec.decodeFleet(fleetReader);
+
+        buffer.put((byte) moves.length);
+        buffer.put((byte) snapshots);
+        int snapshotTable = buffer.position();
+        buffer.position(snapshotTable + snapshots * SNAPSHOT_SIZE);
+        int stream = buffer.position();
+
+        int shooter = PLAYER;
+        int[] previous = new int[2];
+        for (int i = 0; i < moves.length; i++) {
+            if (i > 0 && i % SNAPSHOT_INTERVAL == 0) {
+                ByteBuffer snapshot = buffer.duplicate();
+                snapshot.position(snapshotTable + (i / SNAPSHOT_INTERVAL - 1) * SNAPSHOT_SIZE);
+                putSnapshot(snapshot, buffer.position() - stream, shooter, previous, playerBoard, enemyBoard);
+            }
+
+            int cell = Byte.toUnsignedInt(moves[i]);
+            Board target = shooter == PLAYER ? enemyBoard : playerBoard;
+            if (cell >= BoardMasks.CELL_COUNT || isShot(target.getCellState(BoardMasks.row(cell), BoardMasks.col(cell)))) {
+                throw new StreamCorruptedException("Jugada inválida en el registro: " + i);
+            }
+            CellState result = target.processShot(BoardMasks.row(cell), BoardMasks.col(cell));
+            putVarint(buffer, zigzag(cell - previous[shooter]));
+            previous[shooter] = cell;
+            if (result == CellState.WATER) {
+                shooter = 1 - shooter;
+            }
+        }
+
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip();
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Reconstruye la partida tras {@code move} jugadas: una lectura de la instantánea
+     * anterior y como mucho {@value #SNAPSHOT_INTERVAL} disparos con
+     * {@link Board#processShot}.
+     *
+     * @param move Entre 0 (flotas iniciales) y {@link #getMoveCount()}
+     */
+    public ReplayFrame frameAt(int move) {
+        if (move < 0 || move > moveCount) {
+            throw new IllegalArgumentException("Jugada fuera de la repetición: " + move);
+        }
+        try {
+            ByteBuffer reader = data.duplicate();
+            reader.position(fleetsPosition);
+            Board playerBoard = GameStateCodec.decodeFleet(reader);
+            Board enemyBoard = GameStateCodec.decodeFleet(reader);
+
+            // La instantánea anterior a la jugada, dejando al menos un disparo por repetir
+            int snapshot = move == 0 ? 0 : Math.min((move - 1) / SNAPSHOT_INTERVAL, snapshotCount);
+            int shooter = PLAYER;
+            int[] previous = new int[2];
+            int streamOffset = 0;
+            if (snapshot > 0) {
+                reader.position(snapshotsPosition + (snapshot - 1) * SNAPSHOT_SIZE);
+                streamOffset = Short.toUnsignedInt(reader.getShort());
+                shooter = reader.get();
+                previous[PLAYER] = Byte.toUnsignedInt(reader.get());
+                previous[ENEMY] = Byte.toUnsignedInt(reader.get());
+                GameStateCodec.applyShots(playerBoard, reader.getLong(), reader.getLong());
+                GameStateCodec.applyShots(enemyBoard, reader.getLong(), reader.getLong());
+            }
+
+            reader.position(streamPosition + streamOffset);
+            int lastShooter = -1;
+            int lastCell = -1;
+            CellState lastResult = null;
+            for (int i = snapshot * SNAPSHOT_INTERVAL; i < move; i++) {
+                int cell = previous[shooter] + unzigzag(getVarint(reader));
+                Board target = shooter == PLAYER ? enemyBoard : playerBoard;
+                lastResult = target.processShot(BoardMasks.row(cell), BoardMasks.col(cell));
+                lastShooter = shooter;
+                lastCell = cell;
+                previous[shooter] = cell;
+                if (lastResult == CellState.WATER) {
+                    shooter = 1 - shooter;
+                }
+            }
+
+            return new ReplayFrame(move, playerBoard.snapshot(), enemyBoard.snapshot(),
+                    lastShooter == PLAYER ? "PLAYER" : lastShooter == ENEMY ? "ENEMY" : null,
+                    lastCell, lastResult);
+
+        } catch (StreamCorruptedException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            // decode ya validó la cabecera; un fallo aquí es un flujo dañado
+            throw new IllegalStateException("Repetición dañada en la jugada " + move, e);
+        }
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public String getAiStrategy() {
+        return aiStrategy;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getWinner() {
+        return winner;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    private static void putSnapshot(ByteBuffer buffer, int streamOffset, int shooter, int[] previous,
+                                    Board playerBoard, Board enemyBoard) {
+        buffer.putShort((short) streamOffset);
+        buffer.put((byte) shooter);
+        buffer.put((byte) previous[PLAYER]);
+        buffer.put((byte) previous[ENEMY]);
+        long[] playerShots = GameStateCodec.shotMask(playerBoard);
+        long[] enemyShots = GameStateCodec.shotMask(enemyBoard);
+        buffer.putLong(playerShots[0]).putLong(playerShots[1]);
+        buffer.putLong(enemyShots[0]).putLong(enemyShots[1]);
+    }
+
+    private static boolean isShot(CellState state) {
+        return state == CellState.WATER || state == CellState.HIT || state == CellState.SUNK;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
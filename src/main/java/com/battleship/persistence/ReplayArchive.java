@@ -0,0 +1,164 @@
+package com.battleship.persistence;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo de repeticiones de partidas terminadas.
+ * <p>
+ * Las repeticiones ({@link Replay}) se añaden al final de {@code replays.dat} y nunca
+ * se reescriben. Cada una tiene una entrada de tamaño fijo en {@code replays.idx}:
+ * </p>
+ * <pre>
+ *  0 long posición en replays.dat    8 int longitud   12 byte nº jugadas
+ * 13 byte ganador   14 (relleno)    16 gameId (byte + 31)
+ * </pre>
+ * <p>
+ * Abrir la repetición número N son dos lecturas posicionales: su entrada del índice
+ * y sus bytes. La entrada se escribe después de que los datos estén en disco, así que
+ * un corte deja como mucho datos sin índice, que se ignoran.
+ * </p>
+ */
+class ReplayArchive {
+
+    static final int ENTRY_SIZE = 48;
+    private static final int OFFSET = 0;
+    private static final int LENGTH = 8;
+    private static final int MOVES = 12;
+    private static final int GAME_ID = 16;
+
+    private final Path dataPath;
+    private final Path indexPath;
+    private FileChannel dataChannel;
+    private FileChannel indexChannel;
+    private int size;
+
+    ReplayArchive(Path dataPath, Path indexPath) {
+        this.dataPath = dataPath;
+        this.indexPath = indexPath;
+    }
+
+    /**
+     * Guarda la repetición de una partida terminada
+     *
+     * @return El número de la repetición en el archivo
+     * @throws StreamCorruptedException Si el registro de jugadas de la partida no es válido
+     */
+    synchronized int append(GameState state, String nickname) throws IOException {
+        byte[] replay = Replay.encode(state, nickname);
+        ensureOpen();
+
+        long offset = dataChannel.size();
+        writeFully(dataChannel, ByteBuffer.wrap(replay), offset);
+        dataChannel.force(false);
+
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        entry.putLong(OFFSET, offset);
+        entry.putInt(LENGTH, replay.length);
+        entry.put(MOVES, (byte) state.getMoves().length);
+        entry.put(MOVES + 1, (byte) ("PLAYER".equals(state.getWinner()) ? 1 : 2));
+        entry.position(GAME_ID);
+        GameStateCodec.putFixedString(entry, state.getGameId(), GameStateCodec.GAME_ID_FIELD);
+        entry.clear();
+        writeFully(indexChannel, entry, (long) size * ENTRY_SIZE);
+        indexChannel.force(false);
+        return size++;
+    }
+
+    /**
+     * Número de repeticiones guardadas
+     */
+    synchronized int size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    /**
+     * Abre la repetición número {@code index}, leyendo solo sus bytes
+     */
+    synchronized Replay open(int index) throws IOException {
+        ensureOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Repetición inexistente: " + index);
+        }
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        readFully(indexChannel, entry, (long) index * ENTRY_SIZE);
+
+        ByteBuffer replay = ByteBuffer.allocate(entry.getInt(LENGTH));
+        readFully(dataChannel, replay, entry.getLong(OFFSET));
+        return Replay.decode(replay.array());
+    }
+
+    /**
+     * Número de la repetición más reciente de una partida, o -1
+     */
+    synchronized int find(String gameId) throws IOException {
+        ensureOpen();
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        for (int index = size - 1; index >= 0; index--) {
+            entry.clear();
+            readFully(indexChannel, entry, (long) index * ENTRY_SIZE);
+            entry.position(GAME_ID);
+            if (gameId.equals(GameStateCodec.getFixedString(entry, GameStateCodec.GAME_ID_FIELD))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    synchronized void close() throws IOException {
+        if (indexChannel == null) {
+            return;
+        }
+        dataChannel.close();
+        indexChannel.close();
+        dataChannel = null;
+        indexChannel = null;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (indexChannel != null) {
+            return;
+        }
+        Files.createDirectories(indexPath.toAbsolutePath().getParent());
+        dataChannel = FileChannel.open(dataPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        indexChannel = FileChannel.open(indexPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Descarta una entrada a medias o que apunte a datos que no llegaron a disco
+        size = (int) (indexChannel.size() / ENTRY_SIZE);
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        while (size > 0) {
+            entry.clear();
+            readFully(indexChannel, entry, (long) (size - 1) * ENTRY_SIZE);
+            if (entry.getLong(OFFSET) + entry.getInt(LENGTH) <= dataChannel.size()) {
+                break;
+            }
+            size--;
+        }
+        indexChannel.truncate((long) size * ENTRY_SIZE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Archivo de repeticiones truncado");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.battleship.persistence;
+
+import com.battleship.model.BoardSnapshot;
+import com.battleship.model.CellState;
+
+/**
+ * Estado de una repetición tras un número dado de jugadas: los dos tableros y el
+ * último disparo aplicado.
+ */
+public final class ReplayFrame {
+
+    private final int move;
+    private final BoardSnapshot playerBoard;
+    private final BoardSnapshot enemyBoard;
+    private final String lastShooter; // "PLAYER", "ENEMY" o null antes del primer disparo
+    private final int lastCell;
+    private final CellState lastResult;
+
+    ReplayFrame(int move, BoardSnapshot playerBoard, BoardSnapshot enemyBoard,
+                String lastShooter, int lastCell, CellState lastResult) {
+        this.move = move;
+        this.playerBoard = playerBoard;
+        this.enemyBoard = enemyBoard;
+        this.lastShooter = lastShooter;
+        this.lastCell = lastCell;
+        this.lastResult = lastResult;
+    }
+
+    public int getMove() {
+        return move;
+    }
+
+    public BoardSnapshot getPlayerBoard() {
+        return playerBoard;
+    }
+
+    public BoardSnapshot getEnemyBoard() {
+        return enemyBoard;
+    }
+
+    public String getLastShooter() {
+        return lastShooter;
+    }
+
+    /**
+     * Índice empaquetado de la celda del último disparo, o -1
+     */
+    public int getLastCell() {
+        return lastCell;
+    }
+
+    public CellState getLastResult() {
+        return lastResult;
+    }
+}
@@ -0,0 +1,117 @@
+package com.battleship.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadatos de una partida guardada, leídos de la cabecera de tamaño fijo del archivo
+ * sin decodificar los tableros.
+ */
+public final class SaveHeader {
+
+    private final String gameId;
+    private final LocalDateTime lastSaved;
+    private final String currentTurn;
+    private final boolean gameOver;
+    private final String winner;
+    private final int playerShipsSunk;
+    private final int enemyShipsSunk;
+    private final int totalPlayerShots;
+    private final int totalEnemyShots;
+    private final int playerHits;
+    private final int enemyHits;
+    private final long seed;
+    private final String aiStrategy;
+
+    SaveHeader(String gameId, LocalDateTime lastSaved, String currentTurn, boolean gameOver, String winner,
+               int playerShipsSunk, int enemyShipsSunk, int totalPlayerShots, int totalEnemyShots,
+               int playerHits, int enemyHits, long seed, String aiStrategy) {
+        this.gameId = gameId;
+        this.lastSaved = lastSaved;
+        this.currentTurn = currentTurn;
+        this.gameOver = gameOver;
+        this.winner = winner;
+        this.playerShipsSunk = playerShipsSunk;
+        this.enemyShipsSunk = enemyShipsSunk;
+        this.totalPlayerShots = totalPlayerShots;
+        this.totalEnemyShots = totalEnemyShots;
+        this.playerHits = playerHits;
+        this.enemyHits = enemyHits;
+        this.seed = seed;
+        this.aiStrategy = aiStrategy;
+    }
+
+    /**
+     * Copia con el turno y los contadores tras aplicar los registros del diario
+     */
+    SaveHeader withProgress(String currentTurn, int totalPlayerShots, int totalEnemyShots,
+                            int playerHits, int enemyHits) {
+        return new SaveHeader(gameId, lastSaved, currentTurn, gameOver, winner, playerShipsSunk, enemyShipsSunk,
+                totalPlayerShots, totalEnemyShots, playerHits, enemyHits, seed, aiStrategy);
+    }
+
+    /**
+     * Cabecera equivalente de una partida ya cargada por completo
+     */
+    static SaveHeader of(GameState state) {
+        return new SaveHeader(state.getGameId(), state.getLastSaved(), state.getCurrentTurn(), state.isGameOver(),
+                state.getWinner(), state.getPlayerShipsSunk(), state.getEnemyShipsSunk(),
+                state.getTotalPlayerShots(), state.getTotalEnemyShots(), state.getPlayerHits(),
+                state.getEnemyHits(), state.getSeed(), state.getAiStrategy());
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public LocalDateTime getLastSaved() {
+        return lastSaved;
+    }
+
+    public String getCurrentTurn() {
+        return currentTurn;
+    }
+
+    public boolean isPlayerTurn() {
+        return "PLAYER".equals(currentTurn);
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public String getWinner() {
+        return winner;
+    }
+
+    public int getPlayerShipsSunk() {
+        return playerShipsSunk;
+    }
+
+    public int getEnemyShipsSunk() {
+        return enemyShipsSunk;
+    }
+
+    public int getTotalPlayerShots() {
+        return totalPlayerShots;
+    }
+
+    public int getTotalEnemyShots() {
+        return totalEnemyShots;
+    }
+
+    public int getPlayerHits() {
+        return playerHits;
+    }
+
+    public int getEnemyHits() {
+        return enemyHits;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getAiStrategy() {
+        return aiStrategy;
+    }
+}
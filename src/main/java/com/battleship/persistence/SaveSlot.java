@@ -0,0 +1,54 @@
+package com.battleship.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del índice del almacén de partidas: a quién pertenece la partida y los
+ * metadatos de su cabecera, sin los tableros.
+ */
+public final class SaveSlot {
+
+    private final int slotId;
+    private final String nickname;
+    private final LocalDateTime createdAt;
+    private final SaveHeader header;
+
+    SaveSlot(int slotId, String nickname, LocalDateTime createdAt, SaveHeader header) {
+        this.slotId = slotId;
+        this.nickname = nickname;
+        this.createdAt = createdAt;
+        this.header = header;
+    }
+
+    public int getSlotId() {
+        return slotId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public SaveHeader getHeader() {
+        return header;
+    }
+
+    public String getGameId() {
+        return header.getGameId();
+    }
+
+    public LocalDateTime getLastSaved() {
+        return header.getLastSaved();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s · %d disparos · %s",
+                header.getLastSaved().withNano(0).toString().replace('T', ' '),
+                header.getTotalPlayerShots() + header.getTotalEnemyShots(),
+                header.isGameOver() ? "terminada" : header.isPlayerTurn() ? "tu turno" : "turno del enemigo");
+    }
+}
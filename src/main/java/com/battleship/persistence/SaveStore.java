@@ -0,0 +1,525 @@
+package com.battleship.persistence;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Almacén de muchas partidas guardadas, de varios capitanes.
+ * <p>
+ * Las partidas codificadas se añaden siempre al final de un segmento de datos
+ * ({@code segment-NNNNN.dat}); nunca se sobrescriben. El índice ({@code index.bin})
+ * es un archivo proyectado en memoria con un registro de tamaño fijo por ranura:
+ * </p>
+ * <pre>
+ *  0 byte estado (libre/ocupada)    4 int segmento     8 int posición   12 int longitud
+ * 16 int CRC32 de los datos        24 long creación   32 apodo (byte + 31)
+ * 64 cabecera fija de GameStateCodec ({@value GameStateCodec#HEADER_SIZE} bytes)
+ * </pre>
+ * <p>
+ * Listar las partidas de un capitán recorre solo el índice, sin abrir ningún segmento.
+ * Volver a guardar una partida escribe una ranura nueva y solo después libera la
+ * anterior, así que un corte deja siempre una versión completa. Los datos de las
+ * versiones liberadas se recuperan compactando en segundo plano los segmentos cerrados
+ * en los que quedan menos de la mitad de bytes vivos.
+ * </p>
+ */
+class SaveStore {
+
+    private static final Logger LOGGER = Logger.getLogger(SaveStore.class.getName());
+
+    static final int MAGIC = 0x42535849; // "BSXI"
+    private static final int VERSION = 1;
+
+    // Cabecera del índice: MAGIC, versión, capacidad, segmento activo
+    private static final int INDEX_HEADER = 16;
+    private static final int CAPACITY_POSITION = 8;
+    private static final int ACTIVE_SEGMENT_POSITION = 12;
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Campos de cada registro del índice
+    static final int RECORD_SIZE = 160;
+    private static final int STATE = 0;
+    private static final int SEGMENT = 4;
+    private static final int OFFSET = 8;
+    private static final int LENGTH = 12;
+    private static final int CRC = 16;
+    private static final int CREATED = 24;
+    private static final int NICKNAME = 32;
+    private static final int HEADER = 64;
+
+    private static final byte FREE = 0;
+    private static final byte LIVE = 1;
+
+    // Tamaño a partir del cual se empieza un segmento nuevo
+    private static final long SEGMENT_LIMIT = 1 << 20;
+
+    // Fracción de bytes vivos por debajo de la cual se compacta un segmento cerrado
+    private static final double MIN_LIVE_RATIO = 0.5;
+
+    private final Path directory;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "save-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int freeHint;
+    private int activeSegment;
+    private FileChannel activeChannel;
+    private long activeSize;
+
+    // Bytes totales y bytes aún referenciados por el índice de cada segmento
+    private final Map<Integer, Long> segmentBytes = new HashMap<>();
+    private final Map<Integer, Long> liveBytes = new HashMap<>();
+    private boolean compactionScheduled;
+
+    SaveStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Partidas de un capitán, de la más reciente a la más antigua
+     */
+    synchronized List<SaveSlot> list(String nickname) throws IOException {
+        ensureOpen();
+        byte[] key = nicknameKey(nickname);
+        List<SaveSlot> slots = new ArrayList<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isLive(slot) && matches(slot, key)) {
+                slots.add(readSlot(slot));
+            }
+        }
+        slots.sort(Comparator.comparing(SaveSlot::getLastSaved).reversed());
+        return slots;
+    }
+
+    /**
+     * Guarda una partida ya codificada, sustituyendo a la versión anterior de la misma
+     * partida del mismo capitán si la hay.
+     */
+    synchronized SaveSlot put(String nickname, byte[] game) throws IOException {
+        ensureOpen();
+        SaveHeader header = GameStateCodec.readHeader(ByteBuffer.wrap(game));
+        byte[] key = nicknameKey(nickname);
+        int previous = find(key, header.getGameId());
+        long createdAt = previous >= 0
+                ? index.getLong(base(previous) + CREATED)
+                : LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        int oldCapacity = capacity;
+        int oldSegment = activeSegment;
+        long offset = append(game);
+        int slot = freeSlot();
+        int base = base(slot);
+
+        // La ranura solo se marca ocupada cuando todos sus campos están escritos
+        index.put(base, new byte[RECORD_SIZE]);
+        index.putInt(base + SEGMENT, activeSegment);
+        index.putInt(base + OFFSET, (int) offset);
+        index.putInt(base + LENGTH, game.length);
+        index.putInt(base + CRC, crc(game));
+        index.putLong(base + CREATED, createdAt);
+        index.put(base + NICKNAME, key);
+        index.put(base + HEADER, game, 0, GameStateCodec.HEADER_SIZE);
+        index.put(base + STATE, LIVE);
+
+        // La ranura nueva debe estar en disco antes de liberar la anterior; las dos son
+        // escrituras en páginas distintas y sin forzar podrían llegar en cualquier orden
+        if (capacity != oldCapacity || activeSegment != oldSegment) {
+            index.force(0, INDEX_HEADER);
+        }
+        index.force(base, RECORD_SIZE);
+
+        if (previous >= 0) {
+            release(previous);
+        }
+        scheduleCompaction();
+        return readSlot(slot);
+    }
+
+    /**
+     * Indica si la partida está en el almacén, sea del capitán que sea
+     */
+    synchronized boolean contains(String gameId) throws IOException {
+        ensureOpen();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isLive(slot) && gameId.equals(GameStateCodec.readHeader(index.slice(base(slot) + HEADER,
+                    GameStateCodec.HEADER_SIZE)).getGameId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lee los datos codificados de una partida
+     *
+     * @throws FileNotFoundException    Si la partida ya no está en el almacén
+     * @throws StreamCorruptedException Si los datos no coinciden con su CRC
+     */
+    synchronized byte[] read(SaveSlot saveSlot) throws IOException {
+        ensureOpen();
+        return readData(locate(saveSlot));
+    }
+
+    /**
+     * Elimina una partida del índice; sus datos se recuperan al compactar
+     */
+    synchronized void delete(SaveSlot saveSlot) throws IOException {
+        ensureOpen();
+        release(locate(saveSlot));
+        scheduleCompaction();
+    }
+
+    /**
+     * Lleva el índice a disco y cierra los archivos; se vuelven a abrir al usarlo
+     */
+    synchronized void close() throws IOException {
+        if (index == null) {
+            return;
+        }
+        index.force();
+        activeChannel.close();
+        indexChannel.close();
+        index = null;
+        segmentBytes.clear();
+        liveBytes.clear();
+    }
+
+    /**
+     * Cierra el almacén y borra el índice y todos los segmentos, con las partidas de
+     * todos los capitanes
+     */
+    synchronized void deleteAll() throws IOException {
+        close();
+        Files.deleteIfExists(directory.resolve("index.bin"));
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "segment-*.dat")) {
+                for (Path path : segments) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    // ============== ÍNDICE ==============
+
+    private void ensureOpen() throws IOException {
+        if (index != null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        indexChannel = FileChannel.open(directory.resolve("index.bin"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (indexChannel.size() < INDEX_HEADER) {
+            capacity = INITIAL_CAPACITY;
+            activeSegment = 1;
+            map();
+            index.putInt(0, MAGIC);
+            index.putInt(4, VERSION);
+            index.putInt(CAPACITY_POSITION, capacity);
+            index.putInt(ACTIVE_SEGMENT_POSITION, activeSegment);
+        } else {
+            ByteBuffer head = ByteBuffer.allocate(INDEX_HEADER);
+            indexChannel.read(head, 0);
+            head.flip();
+            if (head.getInt() != MAGIC) {
+                indexChannel.close();
+                throw new StreamCorruptedException("El índice de partidas no es válido");
+            }
+            int version = head.getInt();
+            if (version != VERSION) {
+                indexChannel.close();
+                throw new InvalidClassException("Versión de índice no soportada: " + version);
+            }
+            capacity = head.getInt();
+            activeSegment = head.getInt();
+            map();
+        }
+        freeHint = 0;
+
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isLive(slot)) {
+                liveBytes.merge(index.getInt(base(slot) + SEGMENT), (long) index.getInt(base(slot) + LENGTH), Long::sum);
+            }
+        }
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "segment-*.dat")) {
+            for (Path path : segments) {
+                int segment = Integer.parseInt(path.getFileName().toString().replaceAll("\\D", ""));
+                if (segment != activeSegment && !liveBytes.containsKey(segment)) {
+                    // Restos de una compactación interrumpida
+                    Files.delete(path);
+                } else {
+                    segmentBytes.put(segment, Files.size(path));
+                }
+            }
+        }
+        openActiveSegment();
+    }
+
+    private void map() throws IOException {
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER + (long) capacity * RECORD_SIZE);
+    }
+
+    private static int base(int slot) {
+        return INDEX_HEADER + slot * RECORD_SIZE;
+    }
+
+    private boolean isLive(int slot) {
+        return index.get(base(slot) + STATE) == LIVE;
+    }
+
+    private boolean matches(int slot, byte[] key) {
+        return index.slice(base(slot) + NICKNAME, GameStateCodec.NICKNAME_FIELD).equals(ByteBuffer.wrap(key));
+    }
+
+    private SaveSlot readSlot(int slot) throws IOException {
+        int base = base(slot);
+        String nickname = GameStateCodec.getFixedString(index.slice(base + NICKNAME, GameStateCodec.NICKNAME_FIELD), GameStateCodec.NICKNAME_FIELD);
+        LocalDateTime createdAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(index.getLong(base + CREATED)), ZoneOffset.UTC);
+        SaveHeader header = GameStateCodec.readHeader(index.slice(base + HEADER, GameStateCodec.HEADER_SIZE));
+        return new SaveSlot(slot, nickname, createdAt, header);
+    }
+
+    /**
+     * Ranura ocupada con la partida de ese capitán, o -1
+     */
+    private int find(byte[] key, String gameId) throws IOException {
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isLive(slot) && matches(slot, key)
+                    && gameId.equals(GameStateCodec.readHeader(index.slice(base(slot) + HEADER,
+                    GameStateCodec.HEADER_SIZE)).getGameId())) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ranura actual de una partida listada antes; puede haberse movido al volver a
+     * guardarla o al compactar.
+     */
+    private int locate(SaveSlot saveSlot) throws IOException {
+        byte[] key = nicknameKey(saveSlot.getNickname());
+        int slot = saveSlot.getSlotId();
+        if (slot < capacity && isLive(slot) && matches(slot, key)
+                && saveSlot.getGameId().equals(readSlot(slot).getGameId())) {
+            return slot;
+        }
+        slot = find(key, saveSlot.getGameId());
+        if (slot < 0) {
+            throw new FileNotFoundException("La partida " + saveSlot.getGameId() + " ya no está en el almacén");
+        }
+        return slot;
+    }
+
+    /**
+     * Primera ranura libre; duplica el índice si está lleno
+     */
+    private int freeSlot() throws IOException {
+        for (int i = 0; i < capacity; i++) {
+            int slot = (freeHint + i) % capacity;
+            if (!isLive(slot)) {
+                freeHint = slot + 1;
+                return slot;
+            }
+        }
+        int slot = capacity;
+        capacity *= 2;
+        map();
+        index.putInt(CAPACITY_POSITION, capacity);
+        freeHint = slot + 1;
+        return slot;
+    }
+
+    private void release(int slot) {
+        int base = base(slot);
+        index.put(base + STATE, FREE);
+        liveBytes.merge(index.getInt(base + SEGMENT), (long) -index.getInt(base + LENGTH), Long::sum);
+    }
+
+    private static byte[] nicknameKey(String nickname) {
+        byte[] key = new byte[GameStateCodec.NICKNAME_FIELD];
+        GameStateCodec.putFixedString(ByteBuffer.wrap(key), nickname, GameStateCodec.NICKNAME_FIELD);
+        return key;
+    }
+
+    // ============== SEGMENTOS ==============
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("segment-%05d.dat", segment));
+    }
+
+    private void openActiveSegment() throws IOException {
+        activeChannel = FileChannel.open(segmentPath(activeSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        activeSize = activeChannel.size();
+        segmentBytes.put(activeSegment, activeSize);
+    }
+
+    /**
+     * Añade los datos al segmento activo, empezando uno nuevo si está lleno
+     *
+     * @return Posición de los datos en el segmento activo
+     */
+    private long append(byte[] data) throws IOException {
+        if (activeSize > 0 && activeSize + data.length > SEGMENT_LIMIT) {
+            activeChannel.close();
+            activeSegment++;
+            index.putInt(ACTIVE_SEGMENT_POSITION, activeSegment);
+            openActiveSegment();
+        }
+
+        long offset = activeSize;
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            activeChannel.write(buffer, offset + buffer.position());
+        }
+        // Los datos deben estar en disco antes de que el índice apunte a ellos
+        activeChannel.force(false);
+
+        activeSize += data.length;
+        segmentBytes.put(activeSegment, activeSize);
+        liveBytes.merge(activeSegment, (long) data.length, Long::sum);
+        return offset;
+    }
+
+    private byte[] readData(int slot) throws IOException {
+        int base = base(slot);
+        int segment = index.getInt(base + SEGMENT);
+        ByteBuffer buffer = ByteBuffer.allocate(index.getInt(base + LENGTH));
+        long offset = index.getInt(base + OFFSET);
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new StreamCorruptedException("Segmento de partidas truncado: " + segment);
+                }
+            }
+        }
+        byte[] data = buffer.array();
+        if (crc(data) != index.getInt(base + CRC)) {
+            throw new StreamCorruptedException("Los datos de la partida no coinciden con el índice");
+        }
+        return data;
+    }
+
+    private static int crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    // ============== COMPACTACIÓN ==============
+
+    private void scheduleCompaction() {
+        if (!compactionScheduled && !segmentsToCompact().isEmpty()) {
+            compactionScheduled = true;
+            compactor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Segmentos cerrados con demasiados bytes de versiones ya liberadas
+     */
+    private List<Integer> segmentsToCompact() {
+        List<Integer> segments = new ArrayList<>();
+        for (Map.Entry<Integer, Long> entry : segmentBytes.entrySet()) {
+            int segment = entry.getKey();
+            long live = liveBytes.getOrDefault(segment, 0L);
+            if (segment != activeSegment && live < MIN_LIVE_RATIO * entry.getValue()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private void compact() {
+        try {
+            List<Integer> segments;
+            synchronized (this) {
+                segments = segmentsToCompact();
+            }
+            for (int segment : segments) {
+                compactSegment(segment);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error al compactar el almacén de partidas", e);
+        } finally {
+            synchronized (this) {
+                compactionScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * Copia las partidas vivas de un segmento al segmento activo y lo borra
+     */
+    private synchronized void compactSegment(int segment) throws IOException {
+        ensureOpen();
+        // Ya compactado, o el almacén se borró mientras esperaba
+        if (segment == activeSegment || !segmentBytes.containsKey(segment)) {
+            return;
+        }
+        int moved = 0;
+        byte[] record = new byte[RECORD_SIZE];
+        for (int slot = 0; slot < capacity; slot++) {
+            int base = base(slot);
+            if (!isLive(slot) || index.getInt(base + SEGMENT) != segment) continue;
+
+            byte[] data;
+            try {
+                data = readData(slot);
+            } catch (StreamCorruptedException e) {
+                LOGGER.log(Level.WARNING, "Partida dañada descartada al compactar", e);
+                release(slot);
+                continue;
+            }
+
+            long offset = append(data);
+            int copy = freeSlot();
+            int copyBase = base(copy);
+            index.get(base, record);
+            record[STATE] = FREE;
+            index.put(copyBase, record);
+            index.putInt(copyBase + SEGMENT, activeSegment);
+            index.putInt(copyBase + OFFSET, (int) offset);
+            index.put(copyBase + STATE, LIVE);
+            release(slot);
+            moved++;
+        }
+
+        // El índice debe apuntar a las copias antes de borrar el original
+        index.force();
+        Files.deleteIfExists(segmentPath(segment));
+        segmentBytes.remove(segment);
+        liveBytes.remove(segment);
+        LOGGER.info("Segmento de partidas " + segment + " compactado, partidas movidas: " + moved);
+    }
+}
@@ -0,0 +1,215 @@
+package com.battleship.persistence;
+
+import com.battleship.model.CellState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Diarios de disparos de solo escritura al final, uno por partida.
+ * <p>
+ * Cada partida escribe en su propio archivo ({@link #pathFor}), así que empezar o
+ * retomar otra partida nunca borra los disparos que a la anterior le faltan por
+ * guardar en una instantánea.
+ * </p>
+ * <p>
+ * Tras una cabecera con el id de la partida y el número de jugada en que empieza,
+ * cada disparo ocupa un registro de 3 bytes: tirador y resultado, celda, y un byte de
+ * control. Como una partida tiene como mucho 200 disparos el diario nunca pasa de unos
+ * cientos de bytes y no hace falta rotarlo: las instantáneas completas solo acotan
+ * cuántos registros hay que repetir al cargar. Un registro final incompleto o con el
+ * byte de control erróneo (escritura cortada) se descarta y se sobrescribe.
+ * </p>
+ */
+class ShotJournal {
+
+    static final int MAGIC = 0x42534A31; // "BSJ1"
+    static final int RECORD_SIZE = 3;
+
+    private static final int MARKER = 0xA0;
+    private static final int MARKER_MASK = 0xF0;
+    private static final int ENEMY_BIT = 0x04;
+    private static final CellState[] RESULTS = {CellState.WATER, CellState.HIT, CellState.SUNK};
+
+    /**
+     * Un disparo registrado
+     */
+    static final class Record {
+        final boolean enemy;
+        final int cell;
+        final CellState result;
+
+        Record(boolean enemy, int cell, CellState result) {
+            this.enemy = enemy;
+            this.cell = cell;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Contenido válido de un diario
+     */
+    static final class Contents {
+        final String gameId;
+        final int baseMove;         // Jugada a la que corresponde el primer registro
+        final List<Record> records;
+        final long validLength;     // Bytes hasta el último registro íntegro
+
+        Contents(String gameId, int baseMove, List<Record> records, long validLength) {
+            this.gameId = gameId;
+            this.baseMove = baseMove;
+            this.records = records;
+            this.validLength = validLength;
+        }
+    }
+
+    private final Path directory;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private FileChannel channel;
+    private String gameId;
+    private int nextMove;
+
+    ShotJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Archivo del diario de una partida. Los caracteres del id que no sirven en un
+     * nombre de archivo se cambian por '_'; la cabecera guarda el id completo.
+     */
+    Path pathFor(String gameId) {
+        return directory.resolve(gameId.replaceAll("[^A-Za-z0-9_-]", "_") + ".journal");
+    }
+
+    /**
+     * Prepara el diario para registrar la jugada {@code move} de la partida indicada.
+     * Continúa el diario existente si corresponde a la misma partida y llega justo hasta
+     * esa jugada; si no, empieza uno nuevo desde ella.
+     *
+     * @return true si se empezó un diario nuevo, que necesita una instantánea que lo respalde
+     */
+    synchronized boolean open(String gameId, int move) throws IOException {
+        if (channel != null && gameId.equals(this.gameId) && nextMove == move) {
+            return false;
+        }
+        close();
+
+        Path path = pathFor(gameId);
+        Files.createDirectories(directory);
+        Contents contents = read(path);
+        boolean fresh = contents == null
+                || !contents.gameId.equals(gameId)
+                || contents.baseMove + contents.records.size() != move;
+
+        if (fresh) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.write(header(gameId, move));
+        } else {
+            // Descarta un posible registro cortado antes de seguir escribiendo
+            channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            channel.truncate(contents.validLength);
+            channel.position(contents.validLength);
+        }
+        this.gameId = gameId;
+        this.nextMove = move;
+        return fresh;
+    }
+
+    /**
+     * Añade el registro de la siguiente jugada
+     */
+    synchronized void append(boolean enemy, int cell, CellState result) throws IOException {
+        int head = MARKER | (enemy ? ENEMY_BIT : 0) | resultCode(result);
+        record.clear();
+        record.put((byte) head).put((byte) cell).put(checksum(head, cell));
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        nextMove++;
+    }
+
+    /**
+     * Borra el diario de una partida, cerrándolo antes si es el que está abierto
+     */
+    synchronized void delete(String gameId) throws IOException {
+        if (gameId.equals(this.gameId)) {
+            close();
+            this.gameId = null;
+        }
+        Files.deleteIfExists(pathFor(gameId));
+    }
+
+    synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Lee los registros íntegros de un diario.
+     *
+     * @return null si no existe o su cabecera no es válida
+     */
+    static Contents read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < 7 || buffer.getInt() != MAGIC) {
+            return null;
+        }
+        int baseMove = Short.toUnsignedInt(buffer.getShort());
+        int idLength = Byte.toUnsignedInt(buffer.get());
+        if (buffer.remaining() < idLength) {
+            return null;
+        }
+        byte[] id = new byte[idLength];
+        buffer.get(id);
+
+        List<Record> records = new ArrayList<>();
+        while (buffer.remaining() >= RECORD_SIZE) {
+            int head = Byte.toUnsignedInt(buffer.get());
+            int cell = Byte.toUnsignedInt(buffer.get());
+            byte check = buffer.get();
+            int code = head & 3;
+            if ((head & MARKER_MASK) != MARKER || code >= RESULTS.length || check != checksum(head, cell)) {
+                buffer.position(buffer.position() - RECORD_SIZE);
+                break;
+            }
+            records.add(new Record((head & ENEMY_BIT) != 0, cell, RESULTS[code]));
+        }
+        return new Contents(new String(id, StandardCharsets.UTF_8), baseMove,
+                Collections.unmodifiableList(records), buffer.position());
+    }
+
+    private static ByteBuffer header(String gameId, int baseMove) {
+        byte[] id = gameId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(7 + id.length);
+        header.putInt(MAGIC).putShort((short) baseMove).put((byte) id.length).put(id);
+        header.flip();
+        return header;
+    }
+
+    private static int resultCode(CellState result) {
+        switch (result) {
+            case HIT: return 1;
+            case SUNK: return 2;
+            default: return 0;
+        }
+    }
+
+    private static byte checksum(int head, int cell) {
+        return (byte) ((head * 31 + cell) ^ 0x5A);
+    }
+}
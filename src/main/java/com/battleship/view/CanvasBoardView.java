@@ -0,0 +1,114 @@
+package com.battleship.view;
+
+import com.battleship.model.BoardMasks;
+import com.battleship.model.BoardSnapshot;
+import com.battleship.model.CellState;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Draws a whole board on a single {@link Canvas}.
+ * <p>
+ * This is the lightweight alternative to one {@code StackPane} with a {@code Rectangle}
+ * and a {@code Label} per cell: the board is one node, so there is no per-cell layout,
+ * CSS or picking. The cell markers are rendered once into images and then only copied.
+ * A single mouse handler turns the click position into a cell by dividing by the cell
+ * size, so the cost does not grow with the board.
+ * </p>
+ */
+public class CanvasBoardView extends StackPane {
+
+    private static final Color GRID_LINE = Color.rgb(141, 110, 99, 0.6); // Same as .grid-cell
+
+    private final int size;
+    private final double cellSize;
+    private final Canvas canvas;
+    private final Function<CellState, Paint> fill;
+    private final Map<CellState, Image> glyphs = new EnumMap<>(CellState.class);
+    private BoardSnapshot shown;
+
+    /**
+     * @param size     Number of rows and columns of the board.
+     * @param cellSize Side of one cell, in pixels.
+     * @param fill     Background of a cell for each state.
+     * @param glyph    Marker node for each state, or null for none. Each one is rendered
+     *                 once to an image, so it can carry its own CSS effects.
+     */
+    public CanvasBoardView(int size, double cellSize, Function<CellState, Paint> fill,
+                           Function<CellState, Node> glyph) {
+        this.size = size;
+        this.cellSize = cellSize;
+        this.fill = fill;
+        this.canvas = new Canvas(size * cellSize, size * cellSize);
+        getStyleClass().add("game-grid");
+        getChildren().add(canvas);
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        for (CellState state : CellState.values()) {
+            Node node = glyph.apply(state);
+            if (node != null) {
+                glyphs.put(state, node.snapshot(parameters, null));
+            }
+        }
+    }
+
+    /**
+     * Calls {@code handler} with the row and column of every clicked cell.
+     */
+    public void setOnCellClicked(BiConsumer<Integer, Integer> handler) {
+        canvas.setCursor(Cursor.HAND);
+        canvas.setOnMouseClicked(e -> {
+            int row = (int) (e.getY() / cellSize);
+            int col = (int) (e.getX() / cellSize);
+            if (row >= 0 && row < size && col >= 0 && col < size) {
+                handler.accept(row, col);
+            }
+        });
+    }
+
+    /**
+     * Brings the canvas up to date with the snapshot. Only the cells that differ from the
+     * last drawn snapshot are painted again; the first call paints the whole board.
+     */
+    public void draw(BoardSnapshot snapshot) {
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        for (int cell : snapshot.changedCells(shown)) {
+            int row = BoardMasks.row(cell);
+            int col = BoardMasks.col(cell);
+            drawCell(graphics, row, col, snapshot.getCellState(row, col));
+        }
+        shown = snapshot;
+    }
+
+    private void drawCell(GraphicsContext graphics, int row, int col, CellState state) {
+        double x = col * cellSize;
+        double y = row * cellSize;
+        graphics.clearRect(x, y, cellSize, cellSize);
+        graphics.setFill(fill.apply(state));
+        graphics.fillRect(x, y, cellSize, cellSize);
+        graphics.setStroke(GRID_LINE);
+        graphics.setLineWidth(1);
+        graphics.strokeRect(x + 0.5, y + 0.5, cellSize - 1, cellSize - 1);
+
+        Image glyph = glyphs.get(state);
+        if (glyph != null) {
+            graphics.drawImage(glyph,
+                    x + (cellSize - glyph.getWidth()) / 2,
+                    y + (cellSize - glyph.getHeight()) / 2);
+        }
+    }
+}
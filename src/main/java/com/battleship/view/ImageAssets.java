@@ -0,0 +1,186 @@
+package com.battleship.view;
+
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.Side;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Region;
+import javafx.stage.Screen;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decodes and keeps the background images of the screens.
+ * <p>
+ * Backgrounds used to be decoded by CSS on the JavaFX thread the moment each screen was
+ * shown. Here each one is decoded on a background thread as soon as {@link #preload} is
+ * called, typically while the start screen waits for the captain's name, so the next
+ * screen finds it ready. Images are decoded at the scale that covers the screen, never above
+ * their own resolution, and {@link #retain} drops the ones later screens no longer need.
+ * </p>
+ */
+public final class ImageAssets {
+
+    private static final Logger LOGGER = Logger.getLogger(ImageAssets.class.getName());
+
+    private static final String IMAGE_DIRECTORY = "/com/battleship/view/images/";
+
+    public static final String START_BACKGROUND = "fondo_pantalla_inicio.jpg";
+    public static final String PLACEMENT_BACKGROUND = "fondo_colocacion.jpg";
+    public static final String BATTLE_BACKGROUND = "fondo_final1.jpg";
+
+    // Same as -fx-background-size: cover; -fx-background-position: center center
+    private static final BackgroundSize COVER = new BackgroundSize(
+            BackgroundSize.AUTO, BackgroundSize.AUTO, false, false, false, true);
+    private static final BackgroundPosition CENTER = new BackgroundPosition(
+            Side.LEFT, 0.5, true, Side.TOP, 0.5, true);
+
+    private static ImageAssets instance;
+
+    private final Map<String, CompletableFuture<Image>> images = new ConcurrentHashMap<>();
+    private final ExecutorService decoder = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "image-decoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ImageAssets() {}
+
+    public static synchronized ImageAssets getInstance() {
+        if (instance == null) {
+            instance = new ImageAssets();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts decoding the images in the background, in the given order. Images already
+     * loaded or on their way are not decoded again.
+     *
+     * @param names File names inside the images folder, such as {@link #BATTLE_BACKGROUND}.
+     */
+    public void preload(String... names) {
+        // Screen is read here, on the JavaFX thread, not by the decoder
+        Screen screen = Screen.getPrimary();
+        Rectangle2D bounds = screen.getBounds();
+        double width = bounds.getWidth() * screen.getOutputScaleX();
+        double height = bounds.getHeight() * screen.getOutputScaleY();
+
+        for (String name : names) {
+            images.computeIfAbsent(name, key ->
+                    CompletableFuture.supplyAsync(() -> decode(key, width, height), decoder));
+        }
+    }
+
+    /**
+     * Shows the image as the background of the region, scaled to cover it like the CSS
+     * backgrounds did. Waits for the decode only if it was not preloaded in time.
+     *
+     * @return false if the image could not be loaded; the region keeps its background.
+     */
+    public boolean applyBackground(Region region, String name) {
+        preload(name);
+        Image image;
+        try {
+            image = images.get(name).join();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudo cargar el fondo " + name, e);
+            images.remove(name);
+            return false;
+        }
+        region.setBackground(new Background(new BackgroundImage(image,
+                BackgroundRepeat.NO_REPEAT, BackgroundRepeat.NO_REPEAT, CENTER, COVER)));
+        return true;
+    }
+
+    /**
+     * Forgets every image except the given ones, so the screens already left stop
+     * holding decoded pixels. Regions still showing an evicted image keep it until they
+     * are discarded.
+     */
+    public void retain(String... names) {
+        List<String> kept = Arrays.asList(names);
+        images.entrySet().removeIf(entry -> {
+            if (kept.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().cancel(false);
+            return true;
+        });
+    }
+
+    /**
+     * Decodes the image at the size that covers the given pixel area, the same scale
+     * {@code cover} uses to draw it, but never larger than the image itself.
+     */
+    private static Image decode(String name, double width, double height) {
+        URL url = ImageAssets.class.getResource(IMAGE_DIRECTORY + name);
+        if (url == null) {
+            throw new IllegalArgumentException("Imagen inexistente: " + name);
+        }
+
+        double requestedWidth = 0; // 0 = own size
+        double requestedHeight = 0;
+        int[] size = readJpegSize(url);
+        if (size != null) {
+            double scale = Math.min(1.0, Math.max(width / size[0], height / size[1]));
+            if (scale < 1.0) {
+                requestedWidth = Math.ceil(size[0] * scale);
+                requestedHeight = Math.ceil(size[1] * scale);
+            }
+        }
+
+        Image image = new Image(url.toExternalForm(), requestedWidth, requestedHeight, false, true);
+        if (image.isError()) {
+            throw new IllegalStateException("No se pudo decodificar " + name, image.getException());
+        }
+        return image;
+    }
+
+    /**
+     * Width and height of a JPEG, read from its frame header without decoding it.
+     *
+     * @return {width, height}, or null if the file is not a JPEG or cannot be read.
+     */
+    private static int[] readJpegSize(URL url) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(url.openStream()))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return null; // Not a JPEG
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00) {
+                    return null;
+                }
+                int length = in.readUnsignedShort();
+                // Start of frame: SOF0-SOF15, except DHT (C4), JPG (C8) and DAC (CC)
+                if (marker >= 0xFFC0 && marker <= 0xFFCF
+                        && marker != 0xFFC4 && marker != 0xFFC8 && marker != 0xFFCC) {
+                    in.readUnsignedByte(); // Sample precision
+                    int height = in.readUnsignedShort();
+                    int width = in.readUnsignedShort();
+                    return width > 0 && height > 0 ? new int[] {width, height} : null;
+                }
+                in.skipNBytes(length - 2);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
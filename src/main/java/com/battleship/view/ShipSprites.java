@@ -0,0 +1,136 @@
+package com.battleship.view;
+
+import com.battleship.model.ShipType;
+import com.battleship.view.shipDrawers.*;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import javafx.stage.Screen;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache of pre-rendered ship images.
+ * <p>
+ * Drawing a ship through its {@link ShipDrawer} creates dozens of shapes. Every
+ * combination of ship type, orientation and cell size is drawn that way only once,
+ * rendered to an image with {@link Group#snapshot}, and reused by every
+ * {@link ShipView} afterwards. The vector drawing is still available through
+ * {@link #vector} for exporting or printing at any resolution.
+ * </p>
+ * <p>
+ * Must only be used from the JavaFX Application Thread.
+ * </p>
+ */
+public final class ShipSprites {
+
+    /**
+     * A rendered ship and where it goes relative to the ship's top-left corner, since
+     * masts and sails may stick out of the cells.
+     */
+    public static final class Sprite {
+        private final Image image;
+        private final double x;
+        private final double y;
+        private final double width;
+        private final double height;
+
+        private Sprite(Image image, Bounds bounds) {
+            this.image = image;
+            this.x = bounds.getMinX();
+            this.y = bounds.getMinY();
+            this.width = bounds.getWidth();
+            this.height = bounds.getHeight();
+        }
+
+        public Image getImage() {
+            return image;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        /**
+         * Width to display the image at; the image itself may have more pixels on
+         * high-density screens.
+         */
+        public double getWidth() {
+            return width;
+        }
+
+        public double getHeight() {
+            return height;
+        }
+    }
+
+    private static final Map<ShipType, ShipDrawer> DRAWERS = new EnumMap<>(ShipType.class);
+    private static final Map<String, Sprite> SPRITES = new HashMap<>();
+
+    static {
+        DRAWERS.put(ShipType.PORTAAVIONES, new PortaavionesDrawer());
+        DRAWERS.put(ShipType.SUBMARINO, new SubmarinoDrawer());
+        DRAWERS.put(ShipType.DESTRUCTOR, new DestructorDrawer());
+        DRAWERS.put(ShipType.FRAGATA, new FragataDrawer());
+    }
+
+    private ShipSprites() {} // Utility class
+
+    /**
+     * Image of a ship, rendered on first use.
+     *
+     * @param type       Ship type.
+     * @param horizontal Orientation of the ship.
+     * @param cellSize   Side of a board cell, in pixels.
+     */
+    public static Sprite sprite(ShipType type, boolean horizontal, double cellSize) {
+        String key = type.name() + (horizontal ? "-H-" : "-V-") + cellSize;
+        Sprite sprite = SPRITES.get(key);
+        if (sprite == null) {
+            sprite = render(vector(type, horizontal, cellSize));
+            SPRITES.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Vector drawing of a ship: a new group of shapes, as the drawers produce it.
+     *
+     * @param type       Ship type.
+     * @param horizontal Orientation of the ship.
+     * @param cellSize   Side of a board cell, in pixels.
+     */
+    public static Group vector(ShipType type, boolean horizontal, double cellSize) {
+        ShipDrawer drawer = DRAWERS.get(type);
+        if (drawer == null) {
+            throw new IllegalArgumentException("Tipo de barco desconocido: " + type);
+        }
+        double width = horizontal ? type.getSize() * cellSize : cellSize;
+        double height = horizontal ? cellSize : type.getSize() * cellSize;
+
+        Group group = new Group();
+        drawer.draw(group, width, height, horizontal);
+        return group;
+    }
+
+    /**
+     * Renders the group at the pixel density of the main screen, so sprites stay sharp
+     * on high-density displays.
+     */
+    private static Sprite render(Group vector) {
+        double scale = Screen.getPrimary().getOutputScaleX();
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+        return new Sprite(vector.snapshot(parameters, null), vector.getBoundsInParent());
+    }
+}
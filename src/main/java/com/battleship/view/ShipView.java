@@ -1,47 +1,36 @@
 package com.battleship.view;
 
 import com.battleship.model.Ship;
-import com.battleship.model.ShipType;
-import com.battleship.view.shipDrawers.*;
 import javafx.scene.Group;
+import javafx.scene.image.ImageView;
 
 public class ShipView extends Group {
     private Ship ship;
-    private ShipDrawer drawer;
+    private final ImageView sprite = new ImageView(); // Cached image of the ship, see ShipSprites
     private boolean isHighlighted = false;
 
     public ShipView(Ship ship) {
         this.ship = ship;
-        this.drawer = createDrawer(ship.getType());
+        getChildren().add(sprite);
         drawShip();
     }
 
-    private ShipDrawer createDrawer(ShipType type) {
-        switch (type) {
-            case PORTAAVIONES:
-                return new PortaavionesDrawer();
-            case SUBMARINO:
-                return new SubmarinoDrawer();
-            case DESTRUCTOR:
-                return new DestructorDrawer();
-            case FRAGATA:
-                return new FragataDrawer();
-            default:
-                throw new IllegalArgumentException("Tipo de barco desconocido: " + type);
-        }
-    }
-
+    // Switching orientation only swaps the cached image; no shapes are created
     private void drawShip() {
-        getChildren().clear();
-
-        int size = ship.getSize();
-        boolean isHorizontal = ship.isHorizontal();
-
-        // ← USAR GridConfig.CELL_SIZE en lugar de 40
-        double width = isHorizontal ? size * GridConfig.CELL_SIZE : GridConfig.CELL_SIZE;
-        double height = isHorizontal ? GridConfig.CELL_SIZE : size * GridConfig.CELL_SIZE;
-
-        drawer.draw(this, width, height, isHorizontal);
+        ShipSprites.Sprite image = ShipSprites.sprite(ship.getType(), ship.isHorizontal(), GridConfig.CELL_SIZE);
+        sprite.setImage(image.getImage());
+        sprite.setX(image.getX());
+        sprite.setY(image.getY());
+        sprite.setFitWidth(image.getWidth());
+        sprite.setFitHeight(image.getHeight());
+    }
+
+    /**
+     * Vector drawing of this ship in its current orientation, for exporting at any
+     * resolution. It is a new group, not part of this view.
+     */
+    public Group toVector() {
+        return ShipSprites.vector(ship.getType(), ship.isHorizontal(), GridConfig.CELL_SIZE);
     }
 
     public Ship getShip() {
@@ -0,0 +1,199 @@
+package com.battleship.view;
+
+import com.battleship.model.CellState;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.VBox;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+
+/**
+ * Command-line benchmark of the two ways of switching the style of the battle labels.
+ * <p>
+ * The "inline" path is the one the game used before {@link StyleState}: every state
+ * change assigns a new {@code -fx-...} string with {@code setStyle}. The "pseudo-class"
+ * path flips pseudo-classes on nodes styled by {@code styles.css}. Both build the same
+ * scene, two boards of cell markers and the turn label, switch every node to its next
+ * state N times and run the CSS pass after each round with {@link Parent#applyCss()},
+ * which is what the next pulse would do. Only the switch and that pass are timed.
+ * </p>
+ * <p>
+ * It needs the JavaFX toolkit, so it runs on a machine with a display, or headless
+ * under Monocle ({@code org.testfx:openjfx-monocle}), which only works with every jar
+ * on the class path:
+ * </p>
+ * <pre>
+ * java -p target/classes:&lt;javafx jars&gt; -m com.battleship/com.battleship.view.StyleBenchmark --rounds 5000
+ * java -cp target/classes:&lt;monocle jar&gt;:&lt;javafx jars&gt; -Dglass.platform=Monocle -Dmonocle.platform=Headless \
+ *      -Dprism.order=sw com.battleship.view.StyleBenchmark
+ * </pre>
+ */
+public final class StyleBenchmark {
+
+    private static final String STYLESHEET = "/com/battleship/view/styles.css";
+
+    // Markers change between the three shot states, as on the boards
+    private static final CellState[] MARKER_STATES = {CellState.WATER, CellState.HIT, CellState.SUNK};
+
+    // Same states as the turn label of GameController
+    private enum TurnState { PLAYER_TURN, ENEMY_TURN }
+
+    private static final StyleState<CellState> MARKER_STYLE = new StyleState<>(CellState.class);
+    private static final StyleState<TurnState> TURN_STYLE = new StyleState<>(TurnState.class);
+
+    private final int markers;
+    private final int rounds;
+    private final int warmup;
+
+    public StyleBenchmark(int markers, int rounds, int warmup) {
+        this.markers = markers;
+        this.rounds = rounds;
+        this.warmup = warmup;
+    }
+
+    /**
+     * Times both paths, alternating them so neither gets a warmer JIT or cache.
+     * Must be called on the JavaFX Application Thread.
+     */
+    public void run() {
+        Label[] inlineMarkers = new Label[markers];
+        Label inlineTurn = new Label("Tu turno");
+        Parent inlineRoot = buildScene(inlineMarkers, inlineTurn, false);
+
+        Label[] pseudoMarkers = new Label[markers];
+        Label pseudoTurn = new Label("Tu turno");
+        Parent pseudoRoot = buildScene(pseudoMarkers, pseudoTurn, true);
+
+        IntConsumer inline = round -> {
+            CellState state = MARKER_STATES[round % MARKER_STATES.length];
+            for (Label marker : inlineMarkers) {
+                marker.setStyle(inlineMarkerStyle(state));
+            }
+            // The old code concatenated the turn style at every change
+            inlineTurn.setStyle("-fx-font-family: 'Cinzel'; -fx-font-size: 24px; -fx-text-fill: " +
+                    (round % 2 == 0 ? "#2ecc71" : "#e67e22") +
+                    "; -fx-effect: dropshadow(one-pass-box, black, 3, 0, 0, 1);");
+        };
+        IntConsumer pseudo = round -> {
+            CellState state = MARKER_STATES[round % MARKER_STATES.length];
+            for (Label marker : pseudoMarkers) {
+                MARKER_STYLE.apply(marker, state);
+            }
+            TURN_STYLE.apply(pseudoTurn, round % 2 == 0 ? TurnState.PLAYER_TURN : TurnState.ENEMY_TURN);
+        };
+
+        long[] inlineTimes = new long[rounds];
+        long[] pseudoTimes = new long[rounds];
+        for (int round = 0; round < warmup; round++) {
+            time(inline, inlineRoot, round);
+            time(pseudo, pseudoRoot, round);
+        }
+        for (int round = 0; round < rounds; round++) {
+            inlineTimes[round] = time(inline, inlineRoot, round);
+            pseudoTimes[round] = time(pseudo, pseudoRoot, round);
+        }
+
+        System.out.printf(Locale.ROOT, "Style switches: %d markers + turn label, %d rounds after %d warmup%n",
+                markers, rounds, warmup);
+        report("inline setStyle", inlineTimes);
+        report("pseudo-classes", pseudoTimes);
+        System.out.printf(Locale.ROOT, "speedup (mean): %.2fx%n", mean(inlineTimes) / mean(pseudoTimes));
+    }
+
+    private Parent buildScene(Label[] cells, Label turn, boolean pseudoClasses) {
+        FlowPane board = new FlowPane();
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new Label("X");
+            if (pseudoClasses) {
+                cells[i].getStyleClass().add("cell-marker");
+            }
+            board.getChildren().add(cells[i]);
+        }
+        if (pseudoClasses) {
+            turn.getStyleClass().add("turn-label");
+        }
+
+        VBox root = new VBox(turn, board);
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(StyleBenchmark.class.getResource(STYLESHEET).toExternalForm());
+        root.applyCss(); // First pass, not timed
+        return root;
+    }
+
+    /**
+     * Switches every node to the styles of the round and runs the CSS pass.
+     *
+     * @return Nanoseconds taken.
+     */
+    private static long time(IntConsumer change, Parent root, int round) {
+        long start = System.nanoTime();
+        change.accept(round);
+        root.applyCss();
+        return System.nanoTime() - start;
+    }
+
+    private static String inlineMarkerStyle(CellState state) {
+        switch (state) {
+            case WATER: return "-fx-font-size: 26px; -fx-text-fill: red; -fx-effect: dropshadow(one-pass-box, black, 2, 1.0, 0, 0);";
+            case HIT:   return "-fx-font-size: 28px; -fx-text-fill: black; -fx-effect: dropshadow(gaussian, white, 8, 0.8, 0, 0);";
+            case SUNK:  return "-fx-font-size: 28px; -fx-text-fill: #ff2400; -fx-effect: dropshadow(one-pass-box, black, 3, 1.0, 0, 0);";
+            default:    return "";
+        }
+    }
+
+    private static void report(String name, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        System.out.printf(Locale.ROOT, "%-16s mean %8.1f us | p50 %8.1f us | p90 %8.1f us | p99 %8.1f us%n",
+                name,
+                mean(times) / 1e3,
+                sorted[(int) (0.50 * (sorted.length - 1))] / 1e3,
+                sorted[(int) (0.90 * (sorted.length - 1))] / 1e3,
+                sorted[(int) (0.99 * (sorted.length - 1))] / 1e3);
+    }
+
+    private static double mean(long[] times) {
+        long sum = 0;
+        for (long time : times) {
+            sum += time;
+        }
+        return (double) sum / times.length;
+    }
+
+    /**
+     * Entry point of the benchmark.
+     * Options: --markers M (default 200, two boards), --rounds N, --warmup W.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int markers = 200;
+        int rounds = 2_000;
+        int warmup = 500;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--markers": markers = Integer.parseInt(args[++i]); break;
+                case "--rounds": rounds = Integer.parseInt(args[++i]); break;
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        StyleBenchmark benchmark = new StyleBenchmark(markers, rounds, warmup);
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                benchmark.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+}
@@ -0,0 +1,48 @@
+package com.battleship.view;
+
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps the constants of an enum to CSS pseudo-classes, so that a node can switch between
+ * visual states declared in {@code styles.css}.
+ * <p>
+ * Each constant becomes a pseudo-class with its name in lower case and dashes (for
+ * example {@code PLAYER_TURN} is {@code :player-turn}). Changing the state only flips
+ * pseudo-class flags, so the already parsed stylesheet rules are matched again instead
+ * of parsing a new inline style string every time.
+ * </p>
+ *
+ * @param <E> Enum of the states a node can be in.
+ */
+public final class StyleState<E extends Enum<E>> {
+
+    private final Map<E, PseudoClass> pseudoClasses;
+
+    /**
+     * @param type Enum whose constants are the possible states.
+     */
+    public StyleState(Class<E> type) {
+        pseudoClasses = new EnumMap<>(type);
+        for (E state : type.getEnumConstants()) {
+            String name = state.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            pseudoClasses.put(state, PseudoClass.getPseudoClass(name));
+        }
+    }
+
+    /**
+     * Puts the node in the given state, turning off every other state of the enum.
+     *
+     * @param node  Node to update.
+     * @param state New state, or null to leave the node in none of them.
+     */
+    public void apply(Node node, E state) {
+        for (Map.Entry<E, PseudoClass> entry : pseudoClasses.entrySet()) {
+            node.pseudoClassStateChanged(entry.getValue(), entry.getKey() == state);
+        }
+    }
+}
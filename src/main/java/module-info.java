@@ -11,6 +11,14 @@ module com.battleship {
     exports com.battleship.controller;
     exports com.battleship.view;
     exports com.battleship.model;
+    exports com.battleship.engine;
+    exports com.battleship.ai;
+    exports com.battleship.persistence; // GameState is part of the engine API
+    exports com.battleship.exceptions;
 
-
+    uses com.battleship.ai.ShotStrategy;
+    provides com.battleship.ai.ShotStrategy with
+            com.battleship.ai.HuntingAI,
+            com.battleship.ai.DensityAI,
+            com.battleship.ai.MonteCarloAI;
 }